@@ -0,0 +1,15 @@
+package com.bucket.thingstodobeforedie.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables the background jobs declared with {@code @Scheduled}.
+ * They run on a pool sized by {@code spring.task.scheduling.pool.size} rather than
+ * Spring's default single thread, so a slow reconcile or index rebuild does not delay
+ * the write-behind buffers that flush every few hundred milliseconds.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -1,6 +1,7 @@
 package com.bucket.thingstodobeforedie.controller;
 
 import com.bucket.thingstodobeforedie.dto.ActivityResponse;
+import com.bucket.thingstodobeforedie.dto.CursorPage;
 import com.bucket.thingstodobeforedie.service.ActivityService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -16,6 +17,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
@@ -38,6 +40,21 @@ public class ActivityController {
         return ResponseEntity.ok(activityService.getCurrentUserActivities(pageable));
     }
 
+    @Operation(summary = "Get current user activity feed",
+            description = "Retrieves activities for the currently authenticated user using an opaque cursor instead of page numbers")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved activities",
+            content = @Content(schema = @Schema(implementation = CursorPage.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid cursor"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @GetMapping("/me/feed")
+    public ResponseEntity<CursorPage<ActivityResponse>> getCurrentUserActivityFeed(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(activityService.getCurrentUserActivityFeed(cursor, size));
+    }
+
     @Operation(summary = "Get activities for a specific user", description = "Retrieves activities for a specific user by user ID")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Successfully retrieved activities", 
@@ -117,7 +117,7 @@ public class BlogController {
         return ResponseEntity.ok(blogService.getBlogPostsByCategory(categoryId, pageable));
     }
 
-    @Operation(summary = "Search blog posts", description = "Returns blog posts matching the search query")
+    @Operation(summary = "Search blog posts", description = "Returns published blog posts matching the search query, most relevant first, with highlighted snippets")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Successful operation")
     })
@@ -128,7 +128,7 @@ public class BlogController {
         return ResponseEntity.ok(blogService.searchBlogPosts(query, pageable));
     }
     
-    @Operation(summary = "Get trending blog posts", description = "Returns blog posts sorted by popularity (view count)")
+    @Operation(summary = "Get trending blog posts", description = "Returns blog posts sorted by trending score, which decays with age")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Successful operation")
     })
@@ -138,13 +138,14 @@ public class BlogController {
         return ResponseEntity.ok(blogService.getTrendingBlogs(pageable));
     }
     
-    @Operation(summary = "Get top trending blog posts", description = "Returns the top 5 most viewed blog posts")
+    @Operation(summary = "Get top trending blog posts", description = "Returns the blog posts with the most recent views, likes and comments")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Successful operation")
     })
     @GetMapping("/trending/top")
-    public ResponseEntity<List<BlogPostResponse>> getTopTrendingBlogs() {
-        return ResponseEntity.ok(blogService.getTopTrendingBlogs());
+    public ResponseEntity<List<BlogPostResponse>> getTopTrendingBlogs(
+            @Parameter(description = "Number of blog posts, at most 50") @RequestParam(defaultValue = "5") int limit) {
+        return ResponseEntity.ok(blogService.getTopTrendingBlogs(limit));
     }
 
     @Operation(summary = "Update a blog post", description = "Updates an existing blog post with the provided data")
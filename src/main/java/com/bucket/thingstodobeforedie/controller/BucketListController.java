@@ -3,6 +3,8 @@ package com.bucket.thingstodobeforedie.controller;
 import com.bucket.thingstodobeforedie.dto.BucketListRequest;
 import com.bucket.thingstodobeforedie.dto.BucketListResponse;
 import com.bucket.thingstodobeforedie.dto.PagedResponse;
+import com.bucket.thingstodobeforedie.dto.BucketListItemBulkRequest;
+import com.bucket.thingstodobeforedie.dto.BucketListItemIdsRequest;
 import com.bucket.thingstodobeforedie.dto.BucketListItemRequest;
 import com.bucket.thingstodobeforedie.dto.BucketListItemResponse;
 import com.bucket.thingstodobeforedie.dto.ApiResponse;
@@ -14,6 +16,8 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/v1/bucket-lists")
 @RequiredArgsConstructor
@@ -32,6 +36,30 @@ public class BucketListController {
                 .body(ApiResponse.success("Bucket list created successfully", bucketList));
     }
 
+    /**
+     * Search the current user's bucket lists, tolerating typos
+     */
+    @GetMapping("/search")
+    public ResponseEntity<ApiResponse<PagedResponse<BucketListResponse>>> searchBucketLists(
+            @RequestParam String query,
+            @RequestParam(value = "page", defaultValue = "0") int page,
+            @RequestParam(value = "size", defaultValue = "10") int size) {
+        PagedResponse<BucketListResponse> response = bucketListService.searchBucketLists(query, page, size);
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+
+    /**
+     * Search the items of all of the current user's bucket lists, tolerating typos
+     */
+    @GetMapping("/items/search")
+    public ResponseEntity<ApiResponse<PagedResponse<BucketListItemResponse>>> searchBucketListItems(
+            @RequestParam String query,
+            @RequestParam(value = "page", defaultValue = "0") int page,
+            @RequestParam(value = "size", defaultValue = "10") int size) {
+        PagedResponse<BucketListItemResponse> response = bucketListItemService.searchItems(query, page, size);
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+
     /**
      * Get bucket list by id
      */
@@ -42,13 +70,15 @@ public class BucketListController {
     }
 
     /**
-     * Get all bucket lists for current user with pagination
+     * Get all bucket lists for current user with pagination; with summary=true items are
+     * omitted and only progress is returned
      */
     @GetMapping
     public ResponseEntity<ApiResponse<PagedResponse<BucketListResponse>>> getBucketLists(
             @RequestParam(value = "page", defaultValue = "0") int page,
-            @RequestParam(value = "size", defaultValue = "10") int size) {
-        PagedResponse<BucketListResponse> response = bucketListService.getBucketLists(page, size);
+            @RequestParam(value = "size", defaultValue = "10") int size,
+            @RequestParam(value = "summary", defaultValue = "false") boolean summary) {
+        PagedResponse<BucketListResponse> response = bucketListService.getBucketLists(page, size, summary);
         return ResponseEntity.ok(ApiResponse.success(response));
     }
 
@@ -59,8 +89,9 @@ public class BucketListController {
     public ResponseEntity<ApiResponse<PagedResponse<BucketListResponse>>> getBucketListsByCategory(
             @PathVariable Long categoryId,
             @RequestParam(value = "page", defaultValue = "0") int page,
-            @RequestParam(value = "size", defaultValue = "10") int size) {
-        PagedResponse<BucketListResponse> response = bucketListService.getBucketListsByCategory(categoryId, page, size);
+            @RequestParam(value = "size", defaultValue = "10") int size,
+            @RequestParam(value = "summary", defaultValue = "false") boolean summary) {
+        PagedResponse<BucketListResponse> response = bucketListService.getBucketListsByCategory(categoryId, page, size, summary);
         return ResponseEntity.ok(ApiResponse.success(response));
     }
 
@@ -119,6 +150,51 @@ public class BucketListController {
         return ResponseEntity.ok(ApiResponse.success("Item completion status toggled", item));
     }
 
+    /**
+     * Add up to 500 items to a bucket list in one request
+     */
+    @PostMapping("/{bucketListId}/items/bulk")
+    public ResponseEntity<ApiResponse<List<BucketListItemResponse>>> addBucketListItems(
+            @PathVariable Long bucketListId,
+            @Valid @RequestBody BucketListItemBulkRequest request) {
+        List<BucketListItemResponse> items = bucketListItemService.createBucketListItems(bucketListId, request.items());
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(ApiResponse.success("Items added to bucket list", items));
+    }
+
+    /**
+     * Toggle completion status of up to 500 items of a bucket list
+     */
+    @PutMapping("/{bucketListId}/items/bulk/toggle-completion")
+    public ResponseEntity<ApiResponse<List<BucketListItemResponse>>> toggleBucketListItems(
+            @PathVariable Long bucketListId,
+            @Valid @RequestBody BucketListItemIdsRequest request) {
+        List<BucketListItemResponse> items = bucketListItemService.toggleBucketListItems(bucketListId, request.itemIds());
+        return ResponseEntity.ok(ApiResponse.success("Item completion statuses toggled", items));
+    }
+
+    /**
+     * Move up to 500 items to the top of a bucket list in the given order
+     */
+    @PutMapping("/{bucketListId}/items/bulk/reorder")
+    public ResponseEntity<ApiResponse<List<BucketListItemResponse>>> reorderBucketListItems(
+            @PathVariable Long bucketListId,
+            @Valid @RequestBody BucketListItemIdsRequest request) {
+        List<BucketListItemResponse> items = bucketListItemService.reorderBucketListItems(bucketListId, request.itemIds());
+        return ResponseEntity.ok(ApiResponse.success("Items reordered", items));
+    }
+
+    /**
+     * Delete up to 500 items of a bucket list
+     */
+    @PostMapping("/{bucketListId}/items/bulk/delete")
+    public ResponseEntity<ApiResponse<Void>> deleteBucketListItems(
+            @PathVariable Long bucketListId,
+            @Valid @RequestBody BucketListItemIdsRequest request) {
+        bucketListItemService.deleteBucketListItems(bucketListId, request.itemIds());
+        return ResponseEntity.ok(ApiResponse.success("Items deleted from bucket list", null));
+    }
+
 //    @GetMapping("/{bucketListId}")
 //    public ResponseEntity<PagedResponse<BucketListItemRecord>> getItemsByBucketListId(
 //            @PathVariable Long bucketListId,
@@ -0,0 +1,49 @@
+package com.bucket.thingstodobeforedie.controller;
+
+import com.bucket.thingstodobeforedie.dto.SearchHitResponse;
+import com.bucket.thingstodobeforedie.service.LocalSearchService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/search")
+@RequiredArgsConstructor
+@Tag(name = "Search", description = "Search served from the in-memory index")
+public class SearchController {
+
+    private final LocalSearchService localSearchService;
+
+    @Operation(summary = "Search blog posts", description = "Returns the published blog posts that best match the query")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successful operation")
+    })
+    @GetMapping("/blog-posts")
+    public ResponseEntity<List<SearchHitResponse>> searchBlogPosts(
+            @Parameter(description = "Search query string") @RequestParam String query,
+            @Parameter(description = "Maximum number of results") @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(localSearchService.searchBlogPosts(query, limit));
+    }
+
+    @Operation(summary = "Search my bucket lists", description = "Returns the current user's bucket lists that best match the query, including matches on their items")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successful operation"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @GetMapping("/bucket-lists")
+    public ResponseEntity<List<SearchHitResponse>> searchBucketLists(
+            @Parameter(description = "Search query string") @RequestParam String query,
+            @Parameter(description = "Maximum number of results") @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(localSearchService.searchBucketLists(query, limit));
+    }
+}
@@ -13,7 +13,7 @@ import java.util.List;
  */
 @JsonInclude(JsonInclude.Include.NON_NULL)
 @Schema(description = "Blog post information")
-@Builder
+@Builder(toBuilder = true)
 public record BlogPostResponse(
         @Schema(description = "Unique identifier of the blog post")
         Long id,
@@ -63,5 +63,8 @@ public record BlogPostResponse(
         @Schema(description = "Whether the current user has liked this blog post")
         Boolean isLikedByCurrentUser,
         
-        List<String> tags
+        List<String> tags,
+
+        @Schema(description = "Content snippet with matched search terms wrapped in <mark>, only set in search results")
+        String highlight
 ) {} 
\ No newline at end of file
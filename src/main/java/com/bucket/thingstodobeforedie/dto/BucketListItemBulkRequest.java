@@ -0,0 +1,16 @@
+package com.bucket.thingstodobeforedie.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * DTO for adding several items to a bucket list at once
+ */
+public record BucketListItemBulkRequest(
+        @NotEmpty(message = "At least one item is required")
+        @Size(max = BucketListItemIdsRequest.MAX_ITEMS, message = "At most {max} items can be added at once")
+        List<@Valid BucketListItemRequest> items
+) {}
@@ -0,0 +1,18 @@
+package com.bucket.thingstodobeforedie.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * DTO naming several items of a bucket list, for bulk toggle, reorder and delete
+ */
+public record BucketListItemIdsRequest(
+        @NotEmpty(message = "At least one item id is required")
+        @Size(max = BucketListItemIdsRequest.MAX_ITEMS, message = "At most {max} items can be changed at once")
+        List<@NotNull Long> itemIds
+) {
+    public static final int MAX_ITEMS = 500;
+}
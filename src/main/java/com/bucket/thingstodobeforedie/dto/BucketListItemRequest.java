@@ -8,6 +8,9 @@ import java.time.LocalDateTime;
  * DTO for creating a new bucket list item
  */
 public record BucketListItemRequest(
+        // Set when updating an existing item as part of its bucket list; items without an id are matched by name
+        Long id,
+
         @NotBlank(message = "Title is required")
         @Size(min = 2, max = 200, message = "Title must be between 2 and 200 characters")
         String name,
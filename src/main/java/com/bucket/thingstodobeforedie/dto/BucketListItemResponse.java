@@ -15,6 +15,7 @@ public record BucketListItemResponse(
     LocalDateTime deadline,
     LocalDateTime completedAt,
     String priority,
+    Integer position,
     Long bucketListId,
     String bucketListName,
     LocalDateTime createdAt,
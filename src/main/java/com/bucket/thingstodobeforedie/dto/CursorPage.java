@@ -0,0 +1,14 @@
+package com.bucket.thingstodobeforedie.dto;
+
+import java.util.List;
+
+/**
+ * Slice of a feed read with keyset pagination
+ * @param <T> Type of content
+ * @param nextCursor Opaque cursor for the next slice, null when there is none
+ */
+public record CursorPage<T>(
+    List<T> content,
+    String nextCursor,
+    boolean hasNext
+) {}
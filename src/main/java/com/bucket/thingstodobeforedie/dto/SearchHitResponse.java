@@ -0,0 +1,17 @@
+package com.bucket.thingstodobeforedie.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Search result from the in-memory search index
+ */
+public record SearchHitResponse(
+    @Schema(description = "ID of the matched blog post or bucket list")
+    Long id,
+
+    @Schema(description = "Title of the blog post or name of the bucket list")
+    String title,
+
+    @Schema(description = "BM25 relevance score, higher is better")
+    Double score
+) {}
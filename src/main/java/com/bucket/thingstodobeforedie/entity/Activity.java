@@ -3,19 +3,31 @@ package com.bucket.thingstodobeforedie.entity;
 import jakarta.persistence.*;
 import lombok.*;
 
+import java.time.LocalDateTime;
+
 @Entity
-@Table(name = "user_activities")
+@Table(name = "user_activities", indexes = {
+        @Index(name = "idx_user_activities_feed", columnList = "user_id, created_at desc, id desc")
+})
 @Setter
 @Getter
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class Activity extends BaseEntity {
+public class Activity {
 
+    // Rows are inserted by ActivityWriteBuffer with JDBC batches, which keep using the identity
+    // column; that is why this entity does not share the sequence id of BaseEntity
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
@@ -34,4 +46,15 @@ public class Activity extends BaseEntity {
     // Additional metadata as JSON
     @Column(columnDefinition = "TEXT")
     private String metadata;
+
+    @PrePersist
+    protected void onCreate() {
+        this.createdAt = LocalDateTime.now();
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        this.updatedAt = LocalDateTime.now();
+    }
 } 
\ No newline at end of file
@@ -8,7 +8,10 @@ import java.util.List;
 import java.util.Set;
 
 @Entity
-@Table(name = "blog_posts")
+@Table(name = "blog_posts", indexes = {
+        @Index(name = "idx_blog_posts_trending", columnList = "status, trending_score desc, id desc"),
+        @Index(name = "idx_blog_posts_updated_at", columnList = "updated_at")
+})
 @Getter
 @Setter
 @SuperBuilder
@@ -33,6 +36,20 @@ public class BlogPost extends BaseEntity {
     @Builder.Default
     private Long views = 0L;
 
+    // Maintained with atomic increments by BlogService, never written from the entity
+    @Column(name = "likes_count", nullable = false, updatable = false, columnDefinition = "bigint default 0")
+    @Builder.Default
+    private Long likesCount = 0L;
+
+    @Column(name = "comments_count", nullable = false, updatable = false, columnDefinition = "bigint default 0")
+    @Builder.Default
+    private Long commentsCount = 0L;
+
+    // Recomputed periodically by BlogTrendingScoreUpdater, never written from the entity
+    @Column(name = "trending_score", nullable = false, updatable = false, columnDefinition = "double precision default 0")
+    @Builder.Default
+    private Double trendingScore = 0.0;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
@@ -7,7 +7,9 @@ import lombok.experimental.SuperBuilder;
 import java.util.List;
 
 @Entity
-@Table(name = "bucket_lists")
+@Table(name = "bucket_lists", indexes = {
+        @Index(name = "idx_bucket_lists_updated_at", columnList = "updated_at")
+})
 @SuperBuilder
 @NoArgsConstructor
 @AllArgsConstructor
@@ -15,11 +17,6 @@ import java.util.List;
 @Setter
 public class BucketList extends BaseEntity {
 
-    @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
-    @Column(nullable = false)
-    private Long id;
-
     @Column(nullable = false)
     private String name;
     
@@ -31,11 +28,21 @@ public class BucketList extends BaseEntity {
     @Column(name = "tags")
     private String tags;
     
+    // Set on insert, then only changed by the conditional updates of BucketListStatusService
     @Enumerated(EnumType.STRING)
-    @Column(name = "status", nullable = false)
+    @Column(name = "status", nullable = false, updatable = false)
     @Builder.Default
     private BucketStatus status = BucketStatus.ACTIVE;
 
+    // Set on insert, then maintained with atomic increments by the bucket list services
+    @Column(name = "total_items", nullable = false, updatable = false, columnDefinition = "integer default 0")
+    @Builder.Default
+    private Integer totalItems = 0;
+
+    @Column(name = "completed_items", nullable = false, updatable = false, columnDefinition = "integer default 0")
+    @Builder.Default
+    private Integer completedItems = 0;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
@@ -45,5 +52,6 @@ public class BucketList extends BaseEntity {
     private Category category;
     
     @OneToMany(mappedBy = "bucketList", cascade = CascadeType.ALL, orphanRemoval = true)
+    @OrderBy("position ASC, id ASC")
     private List<BucketListItem> bucketListItems;
 } 
\ No newline at end of file
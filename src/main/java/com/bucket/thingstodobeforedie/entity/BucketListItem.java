@@ -2,6 +2,7 @@ package com.bucket.thingstodobeforedie.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import lombok.experimental.SuperBuilder;
 
 import java.time.LocalDateTime;
 
@@ -9,15 +10,11 @@ import java.time.LocalDateTime;
 @Table(name = "bucket_list_items")
 @Getter
 @Setter
-@Builder
+@SuperBuilder
 @NoArgsConstructor
 @AllArgsConstructor
 public class BucketListItem extends BaseEntity {
 
-    @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
-    private Long id;
-
     @Column(nullable = false)
     private String name;
 
@@ -27,7 +24,8 @@ public class BucketListItem extends BaseEntity {
     @Column(length = 1000)
     private String notes;
 
-    @Column(nullable = false)
+    // Set on insert, then only changed by the conditional update of BucketListItemRepository
+    @Column(nullable = false, updatable = false)
     private boolean completed;
 
     @Column(name = "deadline")
@@ -40,7 +38,11 @@ public class BucketListItem extends BaseEntity {
     @JoinColumn(name = "bucket_list_id", nullable = false)
     private BucketList bucketList;
 
-    @Column
+    @Column(updatable = false)
     private LocalDateTime completedAt;
+
+    // Order of the item within its bucket list, set by reordering; items without one come last
+    @Column
+    private Integer position;
     
 }
\ No newline at end of file
@@ -15,7 +15,7 @@ import java.time.LocalDateTime;
 public class PasswordResetToken {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE)
     private Long id;
     
     @Column(nullable = false, unique = true)
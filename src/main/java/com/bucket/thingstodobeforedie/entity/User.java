@@ -24,11 +24,6 @@ import java.util.List;
 @Setter
 public class User extends BaseEntity implements UserDetails {
 
-    @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
-    @Column(nullable = false)
-    private Long id;
-
     @Column(nullable = false, unique = true)
     private String username;
 
@@ -0,0 +1,41 @@
+package com.bucket.thingstodobeforedie.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Per-user rollup of bucket list and blog post counts, maintained by the write paths
+ * with atomic deltas in {@link com.bucket.thingstodobeforedie.repository.UserStatsRepository}
+ */
+@Entity
+@Table(name = "user_stats")
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserStats {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "bucket_lists", nullable = false)
+    private long bucketLists;
+
+    @Column(name = "completed_bucket_lists", nullable = false)
+    private long completedBucketLists;
+
+    @Column(name = "active_bucket_lists", nullable = false)
+    private long activeBucketLists;
+
+    @Column(name = "blog_posts", nullable = false)
+    private long blogPosts;
+
+    /**
+     * Stats of a user without any bucket lists or blog posts
+     */
+    public static UserStats empty(Long userId) {
+        return UserStats.builder().userId(userId).build();
+    }
+}
@@ -6,8 +6,11 @@ import com.bucket.thingstodobeforedie.entity.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
@@ -28,4 +31,20 @@ public interface ActivityRepository extends JpaRepository<Activity, Long> {
      */
     List<Activity> findTop10ByUserOrderByCreatedAtDesc(User user);
 
+    /**
+     * First slice of a user's activity feed, newest first, without a count query
+     */
+    List<Activity> findByUserOrderByCreatedAtDescIdDesc(User user, Pageable pageable);
+
+    /**
+     * Slice of a user's activity feed strictly after the (createdAt, id) cursor
+     */
+    @Query("SELECT a FROM Activity a WHERE a.user = :user " +
+           "AND (a.createdAt < :createdAt OR (a.createdAt = :createdAt AND a.id < :id)) " +
+           "ORDER BY a.createdAt DESC, a.id DESC")
+    List<Activity> findFeedAfter(@Param("user") User user,
+                                 @Param("createdAt") LocalDateTime createdAt,
+                                 @Param("id") Long id,
+                                 Pageable pageable);
+
 } 
\ No newline at end of file
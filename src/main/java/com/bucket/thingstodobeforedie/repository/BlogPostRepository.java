@@ -9,8 +9,10 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
@@ -20,10 +22,22 @@ public interface BlogPostRepository extends JpaRepository<BlogPost, Long> {
     
     Page<BlogPost> findByCategoryOrderByCreatedAtDesc(Category category, Pageable pageable);
     
-    @Query("SELECT b FROM BlogPost b WHERE " +
-           "LOWER(b.title) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-           "LOWER(b.content) LIKE LOWER(CONCAT('%', :searchTerm, '%'))")
-    Page<BlogPost> searchBlogPosts(String searchTerm, Pageable pageable);
+    /**
+     * Full-text search over published posts using the GIN-indexed search_vector column,
+     * most relevant first. Postgres evaluates ts_headline after the sort and limit, so
+     * snippets are only built for the rows of the requested page.
+     * @param tsQuery query in to_tsquery syntax
+     */
+    @Query(value = "SELECT b.id AS id, ts_rank_cd(b.search_vector, q) AS rank, " +
+                   "ts_headline('english', b.content, q, " +
+                   "'StartSel=<mark>, StopSel=</mark>, MaxWords=35, MinWords=15, MaxFragments=2') AS highlight " +
+                   "FROM blog_posts b, to_tsquery('english', :tsQuery) q " +
+                   "WHERE b.status = 'PUBLISHED' AND b.search_vector @@ q " +
+                   "ORDER BY rank DESC, b.id DESC",
+           countQuery = "SELECT COUNT(*) FROM blog_posts b " +
+                        "WHERE b.status = 'PUBLISHED' AND b.search_vector @@ to_tsquery('english', :tsQuery)",
+           nativeQuery = true)
+    Page<BlogSearchHit> searchPublished(@Param("tsQuery") String tsQuery, Pageable pageable);
 
     
     // New methods for trending blogs
@@ -31,10 +45,62 @@ public interface BlogPostRepository extends JpaRepository<BlogPost, Long> {
     @Modifying
     @Query("UPDATE BlogPost b SET b.views = b.views + 1 WHERE b.id = :blogId")
     void incrementViews(Long blogId);
-    
-    List<BlogPost> findTop5ByStatusOrderByViewsDesc(BlogStatus status);
-    
-    @Query("SELECT b FROM BlogPost b WHERE b.status = :status ORDER BY b.views DESC, b.createdAt DESC")
+
+    @Modifying
+    @Query("UPDATE BlogPost b SET b.likesCount = b.likesCount + :delta WHERE b.id = :blogId")
+    void adjustLikesCount(Long blogId, long delta);
+
+    @Modifying
+    @Query("UPDATE BlogPost b SET b.commentsCount = b.commentsCount + :delta WHERE b.id = :blogId")
+    void adjustCommentsCount(Long blogId, long delta);
+
+    /**
+     * Repair like counters that drifted from the likes table
+     * @return number of blog posts fixed
+     */
+    @Modifying
+    @Query(value = "UPDATE blog_posts b SET likes_count = (SELECT COUNT(*) FROM likes l WHERE l.blog_post_id = b.id) " +
+                   "WHERE b.likes_count <> (SELECT COUNT(*) FROM likes l WHERE l.blog_post_id = b.id)",
+           nativeQuery = true)
+    int reconcileLikesCounts();
+
+    /**
+     * Repair comment counters that drifted from the comments table
+     * @return number of blog posts fixed
+     */
+    @Modifying
+    @Query(value = "UPDATE blog_posts b SET comments_count = (SELECT COUNT(*) FROM comments c WHERE c.blog_post_id = b.id) " +
+                   "WHERE b.comments_count <> (SELECT COUNT(*) FROM comments c WHERE c.blog_post_id = b.id)",
+           nativeQuery = true)
+    int reconcileCommentsCounts();
+
+    /**
+     * Recompute the time-decayed trending score of published posts created within the window,
+     * {@code (views + likeWeight * likes + commentWeight * comments) / (ageHours + 2) ^ gravity}.
+     * Older posts have their score reset to zero once and are not touched again. Rows whose
+     * score is unchanged, such as posts without any views yet, are not rewritten.
+     * @return number of blog posts updated
+     */
+    @Modifying
+    @Query(value = "UPDATE blog_posts b SET trending_score = s.score FROM (" +
+                   "SELECT id, CASE " +
+                   "WHEN created_at > LOCALTIMESTAMP - make_interval(hours => CAST(:windowHours AS integer)) " +
+                   "THEN (views + :likeWeight * likes_count + :commentWeight * comments_count) " +
+                   "/ power(EXTRACT(EPOCH FROM (LOCALTIMESTAMP - created_at)) / 3600 + 2, :gravity) " +
+                   "ELSE 0 END AS score " +
+                   "FROM blog_posts " +
+                   "WHERE status = 'PUBLISHED' " +
+                   "AND (created_at > LOCALTIMESTAMP - make_interval(hours => CAST(:windowHours AS integer)) " +
+                   "OR trending_score <> 0)" +
+                   ") s " +
+                   "WHERE b.id = s.id AND b.trending_score IS DISTINCT FROM s.score",
+           nativeQuery = true)
+    int refreshTrendingScores(@Param("likeWeight") double likeWeight,
+                              @Param("commentWeight") double commentWeight,
+                              @Param("gravity") double gravity,
+                              @Param("windowHours") int windowHours);
+
+    @Query("SELECT b FROM BlogPost b WHERE b.status = :status ORDER BY b.trendingScore DESC, b.id DESC")
     Page<BlogPost> findTrendingBlogs(BlogStatus status, Pageable pageable);
 
     @Query("SELECT c.name, COUNT(b) FROM BlogPost b JOIN b.category c GROUP BY c.name")
@@ -46,4 +112,14 @@ public interface BlogPostRepository extends JpaRepository<BlogPost, Long> {
     long countByUserId(Long userId);
 
     Page<BlogPost> findByUserAndStatusOrderByCreatedAtDesc(User user, BlogStatus blogStatus, Pageable pageable);
+
+    Page<BlogPost> findByStatus(BlogStatus status, Pageable pageable);
+
+    /**
+     * Blog posts changed after the given time
+     */
+    List<BlogPost> findByUpdatedAtAfter(LocalDateTime updatedAt);
+
+    @Query("SELECT b.id FROM BlogPost b WHERE b.status = :status")
+    List<Long> findIdsByStatus(BlogStatus status);
 } 
\ No newline at end of file
@@ -0,0 +1,13 @@
+package com.bucket.thingstodobeforedie.repository;
+
+/**
+ * Blog post matched by full-text search, with its relevance and a highlighted snippet
+ */
+public interface BlogSearchHit {
+
+    Long getId();
+
+    Double getRank();
+
+    String getHighlight();
+}
@@ -0,0 +1,13 @@
+package com.bucket.thingstodobeforedie.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Latest item deadline of a bucket list computed in SQL, without loading its items
+ */
+public interface BucketListDueDate {
+
+    Long getBucketListId();
+
+    LocalDateTime getDueDate();
+}
@@ -5,9 +5,13 @@ import com.bucket.thingstodobeforedie.entity.BucketListItem;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -15,11 +19,28 @@ public interface BucketListItemRepository extends JpaRepository<BucketListItem,
 
     Page<BucketListItem> findByBucketListOrderByCreatedAtDesc(BucketList bucketList, Pageable pageable);
 
-    @Query("SELECT b FROM BucketListItem b WHERE b.bucketList = :bucketList AND " +
+    @Query("SELECT b FROM BucketListItem b WHERE b.bucketList = :bucketList AND (" +
            "LOWER(b.name) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-           "LOWER(b.description) LIKE LOWER(CONCAT('%', :searchTerm, '%'))")
+           "LOWER(b.description) LIKE LOWER(CONCAT('%', :searchTerm, '%')))")
     Page<BucketListItem> searchBucketListItems(BucketList bucketList, String searchTerm, Pageable pageable);
 
+    /**
+     * Typo-tolerant search over the items of all of a user's bucket lists using the
+     * pg_trgm indexes, most similar first
+     */
+    @Query(value = "SELECT i.* FROM bucket_list_items i " +
+                   "JOIN bucket_lists b ON b.id = i.bucket_list_id " +
+                   "WHERE b.user_id = :userId AND (i.name % :searchTerm OR :searchTerm <% i.description) " +
+                   "ORDER BY GREATEST(similarity(i.name, :searchTerm), " +
+                   "COALESCE(word_similarity(:searchTerm, i.description), 0)) DESC, i.id DESC",
+           countQuery = "SELECT COUNT(*) FROM bucket_list_items i " +
+                        "JOIN bucket_lists b ON b.id = i.bucket_list_id " +
+                        "WHERE b.user_id = :userId AND (i.name % :searchTerm OR :searchTerm <% i.description)",
+           nativeQuery = true)
+    Page<BucketListItem> fuzzySearchByUserId(@Param("userId") Long userId,
+                                             @Param("searchTerm") String searchTerm,
+                                             Pageable pageable);
+
     /**
      * Find all items for a specific bucket list with pagination
      */
@@ -32,4 +53,27 @@ public interface BucketListItemRepository extends JpaRepository<BucketListItem,
 
     List<BucketListItem> findByBucketListId(Long bucketListId);
 
+    List<BucketListItem> findByBucketListIdIn(Collection<Long> bucketListIds);
+
+    List<BucketListItem> findByBucketListIdAndIdIn(Long bucketListId, Collection<Long> ids);
+
+    /**
+     * Set the completion of items that are not already in that state, so that concurrent
+     * toggles of the same item change it, and its list's counter, only once
+     * @return number of items changed
+     */
+    @Modifying
+    @Query("UPDATE BucketListItem i SET i.completed = :completed, i.completedAt = :completedAt, " +
+           "i.updatedAt = :updatedAt WHERE i.id IN :itemIds AND i.completed <> :completed")
+    int updateCompleted(Collection<Long> itemIds, boolean completed, LocalDateTime completedAt,
+                        LocalDateTime updatedAt);
+
+    /**
+     * Find the latest item deadline of each bucket list; lists without any deadline are not returned
+     */
+    @Query("SELECT i.bucketList.id AS bucketListId, MAX(i.deadline) AS dueDate " +
+           "FROM BucketListItem i WHERE i.bucketList.id IN :bucketListIds AND i.deadline IS NOT NULL " +
+           "GROUP BY i.bucketList.id")
+    List<BucketListDueDate> findDueDatesByBucketListIdIn(Collection<Long> bucketListIds);
+
 } 
\ No newline at end of file
@@ -7,9 +7,13 @@ import com.bucket.thingstodobeforedie.entity.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -20,6 +24,70 @@ public interface BucketListRepository extends JpaRepository<BucketList, Long> {
     Page<BucketList> findByUserAndCategoryOrderByCreatedAtDesc(User user, Category category, Pageable pageable);
     
     Page<BucketList> findByCategoryOrderByCreatedAtDesc(Category category, Pageable pageable);
+
+    /**
+     * Move the item counters of a bucket list and mark it updated, so that changes to its
+     * items are seen by anything tracking bucket lists by update time
+     */
+    @Modifying
+    @Query("UPDATE BucketList b SET b.totalItems = b.totalItems + :totalDelta, " +
+           "b.completedItems = b.completedItems + :completedDelta, b.updatedAt = :updatedAt " +
+           "WHERE b.id = :bucketListId")
+    void adjustItemCounts(Long bucketListId, int totalDelta, int completedDelta, LocalDateTime updatedAt);
+
+    /**
+     * Mark an active bucket list completed if all of its items are
+     * @return 1 if the status changed, 0 otherwise
+     */
+    @Modifying
+    @Query("UPDATE BucketList b SET b.status = com.bucket.thingstodobeforedie.entity.BucketStatus.COMPLETED " +
+           "WHERE b.id = :bucketListId AND b.totalItems > 0 AND b.completedItems >= b.totalItems " +
+           "AND b.status = com.bucket.thingstodobeforedie.entity.BucketStatus.ACTIVE")
+    int completeIfAllItemsCompleted(Long bucketListId);
+
+    /**
+     * Mark a completed bucket list active again if some of its items are not completed;
+     * lists in other states are left alone
+     * @return 1 if the status changed, 0 otherwise
+     */
+    @Modifying
+    @Query("UPDATE BucketList b SET b.status = com.bucket.thingstodobeforedie.entity.BucketStatus.ACTIVE " +
+           "WHERE b.id = :bucketListId AND b.completedItems < b.totalItems " +
+           "AND b.status = com.bucket.thingstodobeforedie.entity.BucketStatus.COMPLETED")
+    int reopenIfItemsIncomplete(Long bucketListId);
+
+    /**
+     * Repair item counters that drifted from the bucket list items table
+     * @return number of bucket lists fixed
+     */
+    @Modifying
+    @Query(value = "UPDATE bucket_lists b SET total_items = c.total_items, completed_items = c.completed_items " +
+                   "FROM (SELECT l.id, COUNT(i.id) AS total_items, COUNT(i.id) FILTER (WHERE i.completed) AS completed_items " +
+                   "FROM bucket_lists l LEFT JOIN bucket_list_items i ON i.bucket_list_id = l.id GROUP BY l.id) c " +
+                   "WHERE b.id = c.id " +
+                   "AND (b.total_items, b.completed_items) IS DISTINCT FROM (c.total_items, c.completed_items)",
+           nativeQuery = true)
+    int reconcileItemCounts();
+
+    /**
+     * Complete or reopen bucket lists whose status does not match their item counters;
+     * archived lists are left alone
+     * @return number of bucket lists changed
+     */
+    @Modifying
+    @Query(value = "UPDATE bucket_lists SET status = CASE status WHEN 'ACTIVE' THEN 'COMPLETED' ELSE 'ACTIVE' END " +
+                   "WHERE (status = 'ACTIVE' AND total_items > 0 AND completed_items >= total_items) " +
+                   "OR (status = 'COMPLETED' AND completed_items < total_items)",
+           nativeQuery = true)
+    int reconcileStatuses();
+
+    /**
+     * Load bucket lists with their items and categories in one query, for the second
+     * phase of paging (paging a fetch join would happen in memory)
+     */
+    @Query("SELECT DISTINCT b FROM BucketList b LEFT JOIN FETCH b.bucketListItems LEFT JOIN FETCH b.category " +
+           "WHERE b.id IN :ids")
+    List<BucketList> findWithItemsAndCategoryByIdIn(Collection<Long> ids);
     
     /**
      * Find bucket lists by user and status ordered by creation date
@@ -31,10 +99,25 @@ public interface BucketListRepository extends JpaRepository<BucketList, Long> {
      */
     long countByUserIdAndStatus(Long userId, BucketStatus status);
     
-    @Query("SELECT b FROM BucketList b WHERE b.user = :user AND " +
+    @Query("SELECT b FROM BucketList b WHERE b.user = :user AND (" +
            "LOWER(b.name) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-           "LOWER(b.description) LIKE LOWER(CONCAT('%', :searchTerm, '%'))")
+           "LOWER(b.description) LIKE LOWER(CONCAT('%', :searchTerm, '%')))")
     Page<BucketList> searchBucketLists(User user, String searchTerm, Pageable pageable);
+
+    /**
+     * Typo-tolerant search over a user's bucket lists using the pg_trgm indexes,
+     * most similar first
+     */
+    @Query(value = "SELECT b.* FROM bucket_lists b " +
+                   "WHERE b.user_id = :userId AND (b.name % :searchTerm OR :searchTerm <% b.description) " +
+                   "ORDER BY GREATEST(similarity(b.name, :searchTerm), " +
+                   "COALESCE(word_similarity(:searchTerm, b.description), 0)) DESC, b.id DESC",
+           countQuery = "SELECT COUNT(*) FROM bucket_lists b " +
+                        "WHERE b.user_id = :userId AND (b.name % :searchTerm OR :searchTerm <% b.description)",
+           nativeQuery = true)
+    Page<BucketList> fuzzySearchByUserId(@Param("userId") Long userId,
+                                         @Param("searchTerm") String searchTerm,
+                                         Pageable pageable);
     
     List<BucketList> findTop5ByUserOrderByCreatedAtDesc(User user);
     
@@ -59,4 +142,12 @@ public interface BucketListRepository extends JpaRepository<BucketList, Long> {
      * Count all bucket lists for a specific user
      */
     long countByUserId(Long userId);
+
+    /**
+     * Bucket lists changed after the given time
+     */
+    List<BucketList> findByUpdatedAtAfter(LocalDateTime updatedAt);
+
+    @Query("SELECT b.id FROM BucketList b")
+    List<Long> findAllIds();
 } 
\ No newline at end of file
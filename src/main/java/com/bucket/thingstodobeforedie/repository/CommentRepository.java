@@ -1,13 +1,18 @@
 package com.bucket.thingstodobeforedie.repository;
 
 import com.bucket.thingstodobeforedie.entity.BlogPost;
+import com.bucket.thingstodobeforedie.entity.BlogStatus;
 import com.bucket.thingstodobeforedie.entity.Comment;
 import com.bucket.thingstodobeforedie.entity.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, Long> {
     
@@ -16,4 +21,11 @@ public interface CommentRepository extends JpaRepository<Comment, Long> {
     Page<Comment> findByUserOrderByCreatedAtDesc(User user, Pageable pageable);
     
     long countByBlogPost(BlogPost blogPost);
+
+    /**
+     * Count comments created since the given time per blog post with the given status
+     */
+    @Query("SELECT c.blogPost.id, COUNT(c) FROM Comment c " +
+           "WHERE c.createdAt > :since AND c.blogPost.status = :status GROUP BY c.blogPost.id")
+    List<Object[]> countRecentCommentsByBlogPost(BlogStatus status, LocalDateTime since);
 } 
\ No newline at end of file
@@ -1,11 +1,16 @@
 package com.bucket.thingstodobeforedie.repository;
 
 import com.bucket.thingstodobeforedie.entity.BlogPost;
+import com.bucket.thingstodobeforedie.entity.BlogStatus;
 import com.bucket.thingstodobeforedie.entity.Like;
 import com.bucket.thingstodobeforedie.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -18,4 +23,17 @@ public interface LikeRepository extends JpaRepository<Like, Long> {
     long countByBlogPost(BlogPost blogPost);
     
     void deleteByUserAndBlogPost(User user, BlogPost blogPost);
+
+    /**
+     * Find which of the given blog posts the user has liked
+     */
+    @Query("SELECT l.blogPost.id FROM Like l WHERE l.user = :user AND l.blogPost.id IN :blogPostIds")
+    List<Long> findLikedBlogPostIds(User user, Collection<Long> blogPostIds);
+
+    /**
+     * Count likes created since the given time per blog post with the given status
+     */
+    @Query("SELECT l.blogPost.id, COUNT(l) FROM Like l " +
+           "WHERE l.createdAt > :since AND l.blogPost.status = :status GROUP BY l.blogPost.id")
+    List<Object[]> countRecentLikesByBlogPost(BlogStatus status, LocalDateTime since);
 } 
\ No newline at end of file
@@ -0,0 +1,49 @@
+package com.bucket.thingstodobeforedie.repository;
+
+import com.bucket.thingstodobeforedie.entity.UserStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface UserStatsRepository extends JpaRepository<UserStats, Long> {
+
+    /**
+     * Add deltas to a user's stats, creating the row if the user has none yet
+     */
+    @Modifying
+    @Query(value = "INSERT INTO user_stats (user_id, bucket_lists, completed_bucket_lists, active_bucket_lists, blog_posts) " +
+                   "VALUES (:userId, :bucketLists, :completedBucketLists, :activeBucketLists, :blogPosts) " +
+                   "ON CONFLICT (user_id) DO UPDATE SET " +
+                   "bucket_lists = user_stats.bucket_lists + EXCLUDED.bucket_lists, " +
+                   "completed_bucket_lists = user_stats.completed_bucket_lists + EXCLUDED.completed_bucket_lists, " +
+                   "active_bucket_lists = user_stats.active_bucket_lists + EXCLUDED.active_bucket_lists, " +
+                   "blog_posts = user_stats.blog_posts + EXCLUDED.blog_posts",
+           nativeQuery = true)
+    void adjust(Long userId, long bucketLists, long completedBucketLists, long activeBucketLists, long blogPosts);
+
+    /**
+     * Recount the stats of every user and repair rows that drifted or are missing
+     * @return number of users fixed
+     */
+    @Modifying
+    @Query(value = "INSERT INTO user_stats (user_id, bucket_lists, completed_bucket_lists, active_bucket_lists, blog_posts) " +
+                   "SELECT u.id, " +
+                   "(SELECT COUNT(*) FROM bucket_lists b WHERE b.user_id = u.id), " +
+                   "(SELECT COUNT(*) FROM bucket_lists b WHERE b.user_id = u.id AND b.status = 'COMPLETED'), " +
+                   "(SELECT COUNT(*) FROM bucket_lists b WHERE b.user_id = u.id AND b.status = 'ACTIVE'), " +
+                   "(SELECT COUNT(*) FROM blog_posts p WHERE p.user_id = u.id) " +
+                   "FROM users u " +
+                   "ON CONFLICT (user_id) DO UPDATE SET " +
+                   "bucket_lists = EXCLUDED.bucket_lists, " +
+                   "completed_bucket_lists = EXCLUDED.completed_bucket_lists, " +
+                   "active_bucket_lists = EXCLUDED.active_bucket_lists, " +
+                   "blog_posts = EXCLUDED.blog_posts " +
+                   "WHERE (user_stats.bucket_lists, user_stats.completed_bucket_lists, " +
+                   "user_stats.active_bucket_lists, user_stats.blog_posts) IS DISTINCT FROM " +
+                   "(EXCLUDED.bucket_lists, EXCLUDED.completed_bucket_lists, " +
+                   "EXCLUDED.active_bucket_lists, EXCLUDED.blog_posts)",
+           nativeQuery = true)
+    int reconcile();
+}
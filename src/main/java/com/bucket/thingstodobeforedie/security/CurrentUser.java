@@ -1,56 +1,90 @@
 package com.bucket.thingstodobeforedie.security;
 
 import com.bucket.thingstodobeforedie.entity.User;
+import com.bucket.thingstodobeforedie.enums.Role;
 import com.bucket.thingstodobeforedie.exception.ResourceNotFoundException;
 import com.bucket.thingstodobeforedie.repository.UserRepository;
-import lombok.RequiredArgsConstructor;
+import com.bucket.thingstodobeforedie.util.TransactionUtil;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
- * Utility class to get the current authenticated user
+ * Utility class to get the current authenticated user.
+ * <p>
+ * The id, username and role of the user are remembered for the rest of the request, and
+ * across requests in a small cache with a short TTL, so the many callers of
+ * {@link #getUser()} share one lookup. Only this immutable snapshot is shared between
+ * requests; entities are never cached. Code that changes a user's username or role must
+ * call {@link #evict(String)}.
  */
 @Component
-@RequiredArgsConstructor
 public class CurrentUser {
 
+    private static final String REQUEST_ATTRIBUTE = CurrentUser.class.getName() + ".snapshot";
+
     private final UserRepository userRepository;
+    private final Map<String, CachedSnapshot> cache = new ConcurrentHashMap<>();
+    private final long ttlMillis;
+    private final int maxEntries;
+    private final Counter hits;
+    private final Counter misses;
+
+    public CurrentUser(UserRepository userRepository,
+                       MeterRegistry meterRegistry,
+                       @Value("${app.current-user.cache.ttl-ms:60000}") long ttlMillis,
+                       @Value("${app.current-user.cache.max-entries:10000}") int maxEntries) {
+        this.userRepository = userRepository;
+        this.ttlMillis = ttlMillis;
+        this.maxEntries = maxEntries;
+        this.hits = Counter.builder("current.user.cache")
+                .tag("result", "hit")
+                .description("Current user lookups served without a database query")
+                .register(meterRegistry);
+        this.misses = Counter.builder("current.user.cache")
+                .tag("result", "miss")
+                .description("Current user lookups that queried the database")
+                .register(meterRegistry);
+        Gauge.builder("current.user.cache.size", cache, Map::size)
+                .description("Users held in the cross-request cache")
+                .register(meterRegistry);
+    }
 
     /**
-     * Get the currently authenticated user
+     * Get the currently authenticated user, as a reference that loads its fields with a
+     * primary key lookup on first access within the current persistence context
      * @return The current user
      * @throws ResourceNotFoundException if user not found
      */
     public User getUser() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        
-        if (authentication == null || !authentication.isAuthenticated()) {
-            throw new IllegalStateException("No authenticated user found");
-        }
-        
-        Object principal = authentication.getPrincipal();
-        String username;
-        
-        if (principal instanceof UserDetails) {
-            username = ((UserDetails) principal).getUsername();
-        } else {
-            username = principal.toString();
-        }
-        
-        return userRepository.findByUsername(username)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found with username: " + username));
+        return userRepository.getReferenceById(getSnapshot().id());
     }
-    
+
     /**
      * Get the current user's ID
      * @return The current user's ID
      */
     public Long getUserId() {
-        return getUser().getId();
+        return getSnapshot().id();
     }
-    
+
+    /**
+     * Get the current user's role
+     */
+    public Role getRole() {
+        return getSnapshot().role();
+    }
+
     /**
      * Check if the current user is the owner of a resource
      * @param userId The user ID to check against
@@ -59,4 +93,81 @@ public class CurrentUser {
     public boolean isOwner(Long userId) {
         return getUserId().equals(userId);
     }
-} 
\ No newline at end of file
+
+    /**
+     * Forget a cached user once the current transaction commits, so that a concurrent
+     * request cannot cache the old values again before the change is visible
+     * @param username The username (email) of the changed user
+     */
+    public void evict(String username) {
+        TransactionUtil.afterCommit(() -> {
+            cache.remove(username);
+
+            RequestAttributes request = RequestContextHolder.getRequestAttributes();
+            if (request != null) {
+                request.removeAttribute(REQUEST_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+            }
+        });
+    }
+
+    private UserSnapshot getSnapshot() {
+        String username = getUsername();
+
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        if (request != null && request.getAttribute(REQUEST_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) instanceof UserSnapshot snapshot
+                && username.equals(snapshot.username())) {
+            hits.increment();
+            return snapshot;
+        }
+
+        UserSnapshot snapshot = lookup(username);
+        if (request != null) {
+            request.setAttribute(REQUEST_ATTRIBUTE, snapshot, RequestAttributes.SCOPE_REQUEST);
+        }
+        return snapshot;
+    }
+
+    private UserSnapshot lookup(String username) {
+        long now = System.currentTimeMillis();
+        CachedSnapshot cached = cache.get(username);
+        if (cached != null && cached.expiresAt() > now) {
+            hits.increment();
+            return cached.snapshot();
+        }
+
+        misses.increment();
+        User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with username: " + username));
+        UserSnapshot snapshot = new UserSnapshot(user.getId(), user.getUsername(), user.getRole());
+
+        if (cache.size() >= maxEntries) {
+            cache.values().removeIf(entry -> entry.expiresAt() <= now);
+            if (cache.size() >= maxEntries) {
+                cache.clear();
+            }
+        }
+        cache.put(username, new CachedSnapshot(snapshot, now + ttlMillis));
+        return snapshot;
+    }
+
+    private static String getUsername() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+        if (authentication == null || !authentication.isAuthenticated()) {
+            throw new IllegalStateException("No authenticated user found");
+        }
+
+        Object principal = authentication.getPrincipal();
+
+        if (principal instanceof UserDetails) {
+            return ((UserDetails) principal).getUsername();
+        }
+        return principal.toString();
+    }
+
+    private record UserSnapshot(Long id, String username, Role role) {
+    }
+
+    private record CachedSnapshot(UserSnapshot snapshot, long expiresAt) {
+    }
+}
@@ -3,6 +3,7 @@ package com.bucket.thingstodobeforedie.security;
 import com.bucket.thingstodobeforedie.dto.ApiResponse;
 import com.bucket.thingstodobeforedie.exception.JwtAuthenticationException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
@@ -35,8 +36,8 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
             if (StringUtils.hasText(token)) {
                 try {
-                    tokenProvider.validateToken(token);
-                    Authentication auth = tokenProvider.getAuthentication(token);
+                    Claims claims = tokenProvider.parseClaims(token);
+                    Authentication auth = tokenProvider.getAuthentication(claims);
                     SecurityContextHolder.getContext().setAuthentication(auth);
                     log.debug("Set Authentication to security context for '{}' with role: {}", 
                               auth.getName(), auth.getAuthorities());
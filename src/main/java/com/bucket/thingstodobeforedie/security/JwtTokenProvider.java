@@ -2,6 +2,7 @@ package com.bucket.thingstodobeforedie.security;
 
 import com.bucket.thingstodobeforedie.entity.User;
 import com.bucket.thingstodobeforedie.exception.JwtAuthenticationException;
+import com.bucket.thingstodobeforedie.util.HashUtil;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
 import io.jsonwebtoken.security.SignatureException;
@@ -10,6 +11,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -19,6 +21,9 @@ import org.springframework.stereotype.Component;
 import java.security.Key;
 import java.util.Base64;
 import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 @Component
 @Slf4j
@@ -26,6 +31,7 @@ import java.util.Date;
 public class JwtTokenProvider {
 
     private final UserDetailsService userDetailsService;
+    private final UserRevocationCache userRevocationCache;
 
     @Value("${app.jwt.secret}")
     private String secretKey;
@@ -33,12 +39,27 @@ public class JwtTokenProvider {
     @Value("${app.jwt.expiration}")
     private long validityInMs;
 
+    // Build the principal from token claims instead of loading the user
+    @Value("${app.jwt.stateless:true}")
+    private boolean stateless;
+
+    @Value("${app.jwt.verified-cache.max-entries:50000}")
+    private int verifiedCacheMaxEntries;
+
     private Key key;
 
+    private JwtParser parser;
+
+    // Claims of tokens whose signature was already checked, keyed by SHA-256 of the token
+    private final Map<String, VerifiedToken> verifiedTokens = new ConcurrentHashMap<>();
+
     @PostConstruct
     protected void init() {
         String base64EncodedSecretKey = Base64.getEncoder().encodeToString(secretKey.getBytes());
         this.key = Keys.hmacShaKeyFor(base64EncodedSecretKey.getBytes());
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build();
     }
 
     public String createToken(User user) {
@@ -59,11 +80,24 @@ public class JwtTokenProvider {
     }
 
     public void validateToken(String token) {
+        parseClaims(token);
+    }
+
+    /**
+     * Verify a token and return its claims
+     * @throws JwtAuthenticationException if the token is invalid or expired
+     */
+    public Claims parseClaims(String token) {
+        String digest = HashUtil.sha256Hex(token);
+        VerifiedToken verified = verifiedTokens.get(digest);
+        if (verified != null && verified.expiresAt() > System.currentTimeMillis()) {
+            return verified.claims();
+        }
+
         try {
-            Jwts.parserBuilder()
-                    .setSigningKey(key)
-                    .build()
-                    .parseClaimsJws(token);
+            Claims claims = parser.parseClaimsJws(token).getBody();
+            cacheVerified(digest, claims);
+            return claims;
         } catch (ExpiredJwtException e) {
             log.error("JWT token is expired: {}", e.getMessage());
             throw new JwtAuthenticationException("JWT token is expired", HttpStatus.UNAUTHORIZED);
@@ -83,10 +117,31 @@ public class JwtTokenProvider {
     }
 
     public Authentication getAuthentication(String token) {
+        return getAuthentication(parseClaims(token));
+    }
+
+    /**
+     * Build the authentication for already verified claims.
+     * In stateless mode the principal comes from the userId, email and role claims and
+     * only a cached check that the user still exists is made; otherwise the user is loaded.
+     */
+    public Authentication getAuthentication(Claims claims) {
         try {
-            String username = getUsername(token);
-            UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+            UserDetails userDetails;
+            Long userId = claims.get("userId", Long.class);
+            String role = claims.get("role", String.class);
+
+            if (stateless && userId != null && role != null) {
+                if (!userRevocationCache.isActive(userId)) {
+                    throw new JwtAuthenticationException("User is no longer active", HttpStatus.UNAUTHORIZED);
+                }
+                userDetails = new JwtPrincipal(userId, claims.getSubject(), role);
+            } else {
+                userDetails = userDetailsService.loadUserByUsername(claims.getSubject());
+            }
             return new UsernamePasswordAuthenticationToken(userDetails, "", userDetails.getAuthorities());
+        } catch (JwtAuthenticationException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Authentication error: {}", e.getMessage());
             throw new JwtAuthenticationException("Failed to authenticate user with token", e);
@@ -95,12 +150,7 @@ public class JwtTokenProvider {
 
     public String getUsername(String token) {
         try {
-            return Jwts.parserBuilder()
-                    .setSigningKey(key)
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody()
-                    .getSubject();
+            return parseClaims(token).getSubject();
         } catch (Exception e) {
             log.error("Error extracting username from token: {}", e.getMessage());
             throw new JwtAuthenticationException("Error extracting username from token", e);
@@ -109,15 +159,35 @@ public class JwtTokenProvider {
 
     public Long getUserId(String token) {
         try {
-            return Jwts.parserBuilder()
-                    .setSigningKey(key)
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody()
-                    .get("userId", Long.class);
+            return parseClaims(token).get("userId", Long.class);
         } catch (Exception e) {
             log.error("Error extracting user ID from token: {}", e.getMessage());
             throw new JwtAuthenticationException("Error extracting user ID from token", e);
         }
     }
-} 
\ No newline at end of file
+
+    /**
+     * Drop cached tokens that have expired
+     */
+    @Scheduled(fixedRate = 60, timeUnit = TimeUnit.SECONDS)
+    public void evictExpiredTokens() {
+        long now = System.currentTimeMillis();
+        verifiedTokens.values().removeIf(verified -> verified.expiresAt() <= now);
+    }
+
+    private void cacheVerified(String digest, Claims claims) {
+        if (claims.getExpiration() == null) {
+            return;
+        }
+        if (verifiedTokens.size() >= verifiedCacheMaxEntries) {
+            evictExpiredTokens();
+            if (verifiedTokens.size() >= verifiedCacheMaxEntries) {
+                verifiedTokens.clear();
+            }
+        }
+        verifiedTokens.put(digest, new VerifiedToken(claims, claims.getExpiration().getTime()));
+    }
+
+    private record VerifiedToken(Claims claims, long expiresAt) {
+    }
+}
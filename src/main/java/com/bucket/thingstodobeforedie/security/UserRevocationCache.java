@@ -0,0 +1,54 @@
+package com.bucket.thingstodobeforedie.security;
+
+import com.bucket.thingstodobeforedie.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Short-lived record of which token holders still have an account.
+ * Stateless JWT authentication checks it instead of loading the user on every request,
+ * so tokens of a removed user stop working within the TTL.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserRevocationCache {
+
+    private final UserRepository userRepository;
+    private final Map<Long, Status> statuses = new ConcurrentHashMap<>();
+
+    @Value("${app.jwt.revocation-check-ttl-ms:30000}")
+    private long ttlMillis;
+
+    @Value("${app.jwt.revocation-check-max-entries:100000}")
+    private int maxEntries;
+
+    /**
+     * Check if tokens issued to a user are still accepted
+     * @param userId The user ID from the token
+     * @return true if the user still exists
+     */
+    public boolean isActive(Long userId) {
+        long now = System.currentTimeMillis();
+        Status status = statuses.get(userId);
+        if (status != null && status.expiresAt() > now) {
+            return status.active();
+        }
+
+        boolean active = userRepository.existsById(userId);
+        if (statuses.size() >= maxEntries) {
+            statuses.values().removeIf(entry -> entry.expiresAt() <= now);
+            if (statuses.size() >= maxEntries) {
+                statuses.clear();
+            }
+        }
+        statuses.put(userId, new Status(active, now + ttlMillis));
+        return active;
+    }
+
+    private record Status(boolean active, long expiresAt) {
+    }
+}
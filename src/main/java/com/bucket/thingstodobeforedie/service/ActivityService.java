@@ -1,6 +1,7 @@
 package com.bucket.thingstodobeforedie.service;
 
 import com.bucket.thingstodobeforedie.dto.ActivityResponse;
+import com.bucket.thingstodobeforedie.dto.CursorPage;
 import com.bucket.thingstodobeforedie.entity.Activity;
 import com.bucket.thingstodobeforedie.entity.ActivityIcon;
 import com.bucket.thingstodobeforedie.entity.ActivityType;
@@ -10,15 +11,20 @@ import com.bucket.thingstodobeforedie.repository.ActivityRepository;
 import com.bucket.thingstodobeforedie.repository.UserRepository;
 import com.bucket.thingstodobeforedie.security.CurrentUser;
 import com.bucket.thingstodobeforedie.util.TimeAgoUtil;
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.bucket.thingstodobeforedie.util.TransactionUtil;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -28,36 +34,25 @@ import java.util.stream.Collectors;
 @Slf4j
 public class ActivityService {
 
+    private static final int MAX_FEED_SIZE = 100;
+
     private final ActivityRepository activityRepository;
     private final CurrentUser currentUser;
-    private final ObjectMapper objectMapper;
+    private final ActivityWriteBuffer activityWriteBuffer;
     private final UserRepository userRepository;
+    private final MeterRegistry meterRegistry;
 
     /**
-     * Track a user activity
+     * Track a user activity.
+     * The activity is written in the background once the current transaction commits,
+     * and is discarded if it rolls back.
      */
-    @Transactional
     public void trackActivity(User user, ActivityType activityType, String text, ActivityIcon activityIcon,
                                 Map<String, Object> metadata) {
-        
-        String metadataJson = null;
-        if (metadata != null) {
-            try {
-                metadataJson = objectMapper.writeValueAsString(metadata);
-            } catch (JsonProcessingException e) {
-                log.error("Error serializing metadata: {}", e.getMessage());
-            }
-        }
-        
-        Activity activity = Activity.builder()
-                .user(user)
-                .activityType(activityType)
-                .text(text)
-                .activityIcon(activityIcon)
-                .metadata(metadataJson)
-                .build();
-        
-        activityRepository.save(activity);
+        ActivityWriteBuffer.PendingActivity activity = new ActivityWriteBuffer.PendingActivity(
+                user.getId(), activityType, activityIcon, text, metadata, LocalDateTime.now());
+
+        TransactionUtil.afterCommit(() -> activityWriteBuffer.enqueue(activity));
     }
 
     /**
@@ -67,15 +62,52 @@ public class ActivityService {
     public Page<ActivityResponse> getCurrentUserActivities(Pageable pageable) {
         User user = currentUser.getUser();
 
-        long start = System.nanoTime(); // Capture start time
-        Page<Activity> activities = activityRepository.findByUserOrderByCreatedAtDesc(user, pageable);
-        long end = System.nanoTime(); // Capture end time
-
-        System.out.println("DB Query Execution Time: " + (end - start) / 1_000_000 + " ms");
+        Page<Activity> activities = meterRegistry.timer("activity.feed.query", "paging", "offset")
+                .record(() -> activityRepository.findByUserOrderByCreatedAtDesc(user, pageable));
 
         return activities.map(this::mapToActivityResponse);
     }
 
+    /**
+     * Get activities for current user with keyset pagination.
+     * Each slice seeks past the (createdAt, id) of the previous one, so deep slices cost
+     * the same as the first and no total count is computed.
+     *
+     * @param cursor cursor returned with the previous slice, or null for the newest activities
+     * @param size number of activities to return
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<ActivityResponse> getCurrentUserActivityFeed(String cursor, int size) {
+        User user = currentUser.getUser();
+        int limit = Math.min(Math.max(size, 1), MAX_FEED_SIZE);
+        // Fetch one extra row to know whether another slice follows
+        Pageable slice = PageRequest.of(0, limit + 1);
+
+        List<Activity> activities = meterRegistry.timer("activity.feed.query", "paging", "cursor").record(() -> {
+            if (cursor == null || cursor.isEmpty()) {
+                return activityRepository.findByUserOrderByCreatedAtDescIdDesc(user, slice);
+            }
+            FeedCursor position = decodeCursor(cursor);
+            return activityRepository.findFeedAfter(user, position.createdAt(), position.id(), slice);
+        });
+
+        boolean hasNext = activities.size() > limit;
+        if (hasNext) {
+            activities = activities.subList(0, limit);
+        }
+
+        String nextCursor = null;
+        if (hasNext) {
+            Activity last = activities.get(activities.size() - 1);
+            nextCursor = encodeCursor(last.getCreatedAt(), last.getId());
+        }
+
+        return new CursorPage<>(
+                activities.stream().map(this::mapToActivityResponse).collect(Collectors.toList()),
+                nextCursor,
+                hasNext);
+    }
+
 
     /**
      * Get activities for a specific user
@@ -103,6 +135,26 @@ public class ActivityService {
                 .collect(Collectors.toList());
     }
     
+    private static String encodeCursor(LocalDateTime createdAt, Long id) {
+        String position = createdAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static FeedCursor decodeCursor(String cursor) {
+        try {
+            String position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = position.indexOf('|');
+            return new FeedCursor(
+                    LocalDateTime.parse(position.substring(0, separator)),
+                    Long.parseLong(position.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    private record FeedCursor(LocalDateTime createdAt, Long id) {
+    }
+
     /**
      * Map Activity entity to ActivityResponse DTO
      */
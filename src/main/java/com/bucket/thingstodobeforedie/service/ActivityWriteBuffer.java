@@ -0,0 +1,210 @@
+package com.bucket.thingstodobeforedie.service;
+
+import com.bucket.thingstodobeforedie.entity.ActivityIcon;
+import com.bucket.thingstodobeforedie.entity.ActivityType;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.NonTransientDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-behind buffer for user activities.
+ * Activities are handed over after the tracking transaction commits and written by a
+ * background drainer with one JDBC batch per round, so tracking adds neither JSON
+ * serialization nor an INSERT to the request. When the buffer is full the caller waits
+ * briefly and then writes its activity itself, which slows producers down instead of
+ * losing activities.
+ * <p>
+ * A batch that fails is retried row by row. Rows rejected by the database, for example
+ * because their user was deleted, are logged and dropped; rows failing for transient
+ * reasons are queued again up to a fixed number of attempts.
+ */
+@Component
+@Slf4j
+public class ActivityWriteBuffer {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO user_activities (user_id, activity_type, activity_icon, text, metadata, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final BlockingQueue<QueuedActivity> pendingActivities;
+    private final int batchSize;
+    private final long offerTimeoutMs;
+    private final int maxAttempts;
+    private final Timer drainTimer;
+    private final Counter overflows;
+    private final Counter dropped;
+
+    public ActivityWriteBuffer(JdbcTemplate jdbcTemplate,
+                               ObjectMapper objectMapper,
+                               MeterRegistry meterRegistry,
+                               @Value("${app.activities.buffer.capacity:10000}") int capacity,
+                               @Value("${app.activities.buffer.batch-size:500}") int batchSize,
+                               @Value("${app.activities.buffer.offer-timeout-ms:50}") long offerTimeoutMs,
+                               @Value("${app.activities.buffer.max-attempts:5}") int maxAttempts) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.pendingActivities = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+        this.offerTimeoutMs = offerTimeoutMs;
+        this.maxAttempts = maxAttempts;
+        this.drainTimer = Timer.builder("activity.buffer.drain")
+                .description("Time taken to write a batch of buffered activities")
+                .register(meterRegistry);
+        this.overflows = Counter.builder("activity.buffer.overflow")
+                .description("Activities written by the caller because the buffer was full")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("activity.buffer.dropped")
+                .description("Activities that could not be written and were discarded")
+                .register(meterRegistry);
+        Gauge.builder("activity.buffer.pending", pendingActivities, BlockingQueue::size)
+                .description("Activities waiting to be written to the database")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Queue an activity for writing, waiting briefly if the buffer is full
+     */
+    public void enqueue(PendingActivity activity) {
+        try {
+            if (pendingActivities.offer(new QueuedActivity(activity, 0), offerTimeoutMs, TimeUnit.MILLISECONDS)) {
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        overflows.increment();
+
+        // Runs after the caller's transaction committed, so a failure must not reach the caller
+        try {
+            write(List.of(activity));
+        } catch (DataAccessException e) {
+            dropped.increment();
+            log.error("Error writing activity {} for user {}, dropped: {}",
+                    activity.activityType(), activity.userId(), e.getMessage());
+        }
+    }
+
+    /**
+     * Write everything queued so far in batches
+     */
+    @Scheduled(fixedDelayString = "${app.activities.buffer.drain-interval-ms:200}")
+    public synchronized void drain() {
+        List<QueuedActivity> batch = new ArrayList<>(batchSize);
+        while (pendingActivities.drainTo(batch, batchSize) > 0) {
+            Timer.Sample sample = Timer.start();
+            try {
+                write(batch.stream().map(QueuedActivity::activity).toList());
+                log.debug("Wrote {} buffered activities", batch.size());
+            } catch (DataAccessException e) {
+                log.warn("Error writing {} buffered activities, retrying one by one: {}", batch.size(), e.getMessage());
+                if (!writeOneByOne(batch)) {
+                    // Leave the requeued rows for the next round instead of retrying them right away
+                    return;
+                }
+            } finally {
+                sample.stop(drainTimer);
+            }
+            batch.clear();
+        }
+    }
+
+    /**
+     * Write each activity of a failed batch on its own
+     * @return false if some activities failed transiently and were queued again
+     */
+    private boolean writeOneByOne(List<QueuedActivity> batch) {
+        boolean allSettled = true;
+        for (QueuedActivity queued : batch) {
+            PendingActivity activity = queued.activity();
+            try {
+                write(List.of(activity));
+            } catch (NonTransientDataAccessException e) {
+                drop(activity, e);
+            } catch (DataAccessException e) {
+                int attempts = queued.attempts() + 1;
+                if (attempts >= maxAttempts || !pendingActivities.offer(new QueuedActivity(activity, attempts))) {
+                    drop(activity, e);
+                } else {
+                    allSettled = false;
+                }
+            }
+        }
+        return allSettled;
+    }
+
+    private void drop(PendingActivity activity, DataAccessException e) {
+        dropped.increment();
+        log.error("Dropped activity {} for user {}: {}", activity.activityType(), activity.userId(), e.getMessage());
+    }
+
+    @PreDestroy
+    public void drainOnShutdown() {
+        log.info("Writing buffered activities before shutdown");
+        drain();
+    }
+
+    private void write(List<PendingActivity> activities) {
+        List<Object[]> rows = new ArrayList<>(activities.size());
+        for (PendingActivity activity : activities) {
+            Timestamp createdAt = Timestamp.valueOf(activity.createdAt());
+            rows.add(new Object[]{
+                    activity.userId(),
+                    activity.activityType().name(),
+                    activity.activityIcon().name(),
+                    activity.text(),
+                    toJson(activity.metadata()),
+                    createdAt,
+                    createdAt
+            });
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+    }
+
+    private String toJson(Map<String, Object> metadata) {
+        if (metadata == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(metadata);
+        } catch (JsonProcessingException e) {
+            log.error("Error serializing metadata: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private record QueuedActivity(PendingActivity activity, int attempts) {
+    }
+
+    /**
+     * Activity waiting to be written
+     */
+    public record PendingActivity(Long userId,
+                                  ActivityType activityType,
+                                  ActivityIcon activityIcon,
+                                  String text,
+                                  Map<String, Object> metadata,
+                                  LocalDateTime createdAt) {
+    }
+}
@@ -8,6 +8,7 @@ import com.bucket.thingstodobeforedie.exception.AuthenticationException;
 import com.bucket.thingstodobeforedie.exception.ResourceNotFoundException;
 import com.bucket.thingstodobeforedie.repository.PasswordResetTokenRepository;
 import com.bucket.thingstodobeforedie.repository.UserRepository;
+import com.bucket.thingstodobeforedie.security.CurrentUser;
 import com.bucket.thingstodobeforedie.security.JwtTokenProvider;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -34,6 +35,7 @@ public class AuthService {
     private final JwtTokenProvider tokenProvider;
     private final PasswordResetTokenRepository tokenRepository;
     private final EmailService emailService;
+    private final CurrentUser currentUser;
 
     /**
      * Authenticate a user and generate JWT token
@@ -188,6 +190,7 @@ public class AuthService {
         User user = resetToken.getUser();
         user.setPassword(passwordEncoder.encode(request.password()));
         userRepository.save(user);
+        currentUser.evict(user.getUsername());
 
         // Mark token as used
         resetToken.setUsed(true);
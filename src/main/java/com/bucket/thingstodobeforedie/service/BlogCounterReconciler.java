@@ -0,0 +1,34 @@
+package com.bucket.thingstodobeforedie.service;
+
+import com.bucket.thingstodobeforedie.repository.BlogPostRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Background job that repairs drift in the denormalized like and comment
+ * counters on blog posts by recounting them from the likes and comments tables.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BlogCounterReconciler {
+
+    private final BlogPostRepository blogPostRepository;
+
+    @Scheduled(initialDelayString = "${app.blog.counters.reconcile-initial-delay-ms:60000}",
+               fixedDelayString = "${app.blog.counters.reconcile-interval-ms:3600000}")
+    @Transactional
+    public void reconcile() {
+        int likesFixed = blogPostRepository.reconcileLikesCounts();
+        int commentsFixed = blogPostRepository.reconcileCommentsCounts();
+
+        if (likesFixed > 0 || commentsFixed > 0) {
+            log.warn("Repaired blog post counters: {} like counts, {} comment counts", likesFixed, commentsFixed);
+        } else {
+            log.debug("Blog post counters are consistent");
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.bucket.thingstodobeforedie.service;
+
+import com.bucket.thingstodobeforedie.dto.BlogPostResponse;
+import com.bucket.thingstodobeforedie.entity.BlogPost;
+import com.bucket.thingstodobeforedie.entity.Category;
+import com.bucket.thingstodobeforedie.entity.User;
+import com.bucket.thingstodobeforedie.repository.CategoryRepository;
+import com.bucket.thingstodobeforedie.repository.LikeRepository;
+import com.bucket.thingstodobeforedie.repository.UserRepository;
+import com.bucket.thingstodobeforedie.security.CurrentUser;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Maps blog posts to {@link BlogPostResponse} in batches.
+ * "Liked by me" flags, authors and categories are loaded for the whole batch with
+ * grouped queries instead of once per post. Like and comment counts come from the
+ * counters stored on the blog post row; views include those still buffered in memory.
+ * The statements each request runs are reported by {@link com.bucket.thingstodobeforedie.config.QueryCountFilter}.
+ */
+@Component
+@RequiredArgsConstructor
+public class BlogPostResponseAssembler {
+
+    private final LikeRepository likeRepository;
+    private final UserRepository userRepository;
+    private final CategoryRepository categoryRepository;
+    private final CurrentUser currentUser;
+    private final BlogViewCountBuffer blogViewCountBuffer;
+
+    /**
+     * Map a single blog post
+     */
+    public BlogPostResponse toResponse(BlogPost blogPost) {
+        return toResponses(List.of(blogPost)).get(0);
+    }
+
+    /**
+     * Map a page of blog posts keeping its pagination data
+     */
+    public Page<BlogPostResponse> toResponsePage(Page<BlogPost> blogPosts) {
+        return new PageImpl<>(toResponses(blogPosts.getContent()), blogPosts.getPageable(), blogPosts.getTotalElements());
+    }
+
+    /**
+     * Map a list of blog posts, preserving their order
+     */
+    public List<BlogPostResponse> toResponses(List<BlogPost> blogPosts) {
+        if (blogPosts.isEmpty()) {
+            return List.of();
+        }
+
+        Set<Long> blogPostIds = blogPosts.stream().map(BlogPost::getId).collect(Collectors.toSet());
+
+        User viewer = currentUser.getUser();
+
+        Set<Long> likedIds = new HashSet<>(likeRepository.findLikedBlogPostIds(viewer, blogPostIds));
+
+        Set<Long> authorIds = blogPosts.stream()
+                .map(blogPost -> blogPost.getUser().getId())
+                .collect(Collectors.toSet());
+        Map<Long, User> authors = userRepository.findAllById(authorIds).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+
+        Set<Long> categoryIds = blogPosts.stream()
+                .filter(blogPost -> blogPost.getCategory() != null)
+                .map(blogPost -> blogPost.getCategory().getId())
+                .collect(Collectors.toSet());
+        Map<Long, Category> categories = Collections.emptyMap();
+        if (!categoryIds.isEmpty()) {
+            categories = categoryRepository.findAllById(categoryIds).stream()
+                    .collect(Collectors.toMap(Category::getId, Function.identity()));
+        }
+
+        List<BlogPostResponse> responses = new ArrayList<>(blogPosts.size());
+        for (BlogPost blogPost : blogPosts) {
+            User author = authors.getOrDefault(blogPost.getUser().getId(), blogPost.getUser());
+            Category category = blogPost.getCategory() != null
+                    ? categories.getOrDefault(blogPost.getCategory().getId(), blogPost.getCategory())
+                    : null;
+
+            responses.add(buildResponse(blogPost, author, category, likedIds.contains(blogPost.getId())));
+        }
+        return responses;
+    }
+
+    private BlogPostResponse buildResponse(BlogPost blogPost, User author, Category category,
+                                           boolean isLikedByCurrentUser) {
+        List<String> tagList = blogPost.getTags() != null ?
+                List.of(blogPost.getTags().split(",")) :
+                List.of();
+
+        return BlogPostResponse.builder()
+                .id(blogPost.getId())
+                .title(blogPost.getTitle())
+                .content(blogPost.getContent())
+                .featuredImage(blogPost.getFeaturedImage())
+                .status(blogPost.getStatus())
+                .userId(author.getId())
+                .author(author.getFullName())
+                .categoryId(category != null ? category.getId() : null)
+                .categoryName(category != null ? category.getName() : null)
+                .likesCount(blogPost.getLikesCount())
+                .commentsCount(blogPost.getCommentsCount().intValue())
+                .views(blogPost.getViews() + blogViewCountBuffer.getPending(blogPost.getId()))
+                .createdAt(blogPost.getCreatedAt())
+                .updatedAt(blogPost.getUpdatedAt())
+                .isLikedByCurrentUser(isLikedByCurrentUser)
+                .authorProfileImage(author.getProfileImage())
+                .tags(tagList)
+                .build();
+    }
+}
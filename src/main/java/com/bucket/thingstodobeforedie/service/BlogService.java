@@ -8,15 +8,20 @@ import com.bucket.thingstodobeforedie.repository.*;
 import com.bucket.thingstodobeforedie.security.CurrentUser;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -29,8 +34,13 @@ public class BlogService {
     private final LikeRepository likeRepository;
     private final CommentRepository commentRepository;
     private final CurrentUser currentUser;
-    private final ViewTrackingService viewTrackingService;
     private final ActivityService activityService;
+    private final BlogPostResponseAssembler blogPostResponseAssembler;
+    private final ViewDedupStore viewDedupStore;
+    private final LocalSearchService localSearchService;
+    private final TrendingLeaderboard trendingLeaderboard;
+    private final CategoryCountCache categoryCountCache;
+    private final UserStatsService userStatsService;
 
     @Transactional
     public BlogPostResponse createBlogPost(BlogPostRequest request) {
@@ -59,6 +69,9 @@ public class BlogService {
                 .build();
 
         blogPost = blogPostRepository.save(blogPost);
+        localSearchService.indexBlogPost(blogPost);
+        categoryCountCache.added(category);
+        userStatsService.blogPostCreated(blogPost.getUser().getId());
 
         Map<String, Object> metadata = new HashMap<>();
         metadata.put("blogPostTitle", blogPost.getTitle());
@@ -70,7 +83,7 @@ public class BlogService {
                 ActivityIcon.BLOG_POST_CREATED,
                 metadata
         );
-        return mapToBlogPostResponse(blogPost);
+        return blogPostResponseAssembler.toResponse(blogPost);
     }
 
     /**
@@ -81,7 +94,7 @@ public class BlogService {
         BlogPost blogPost = blogPostRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Blog post not found"));
 
-        return mapToBlogPostResponse(blogPost);
+        return blogPostResponseAssembler.toResponse(blogPost);
     }
 
     /**
@@ -99,18 +112,11 @@ public class BlogService {
         }
 
         // Only increment views if post is published and viewer hasn't viewed recently
-        if (blogPost.getStatus() == BlogStatus.PUBLISHED) {
-            // Check if the viewer has viewed this post recently
-            boolean hasRecentView = viewTrackingService.hasRecentView(id, viewerIdentifier);
-
-            // If no recent view, increment and record
-            if (!hasRecentView) {
-                incrementBlogViews(id);
-                viewTrackingService.recordView(id, viewerIdentifier);
-            }
+        if (blogPost.getStatus() == BlogStatus.PUBLISHED && viewDedupStore.registerView(id, viewerIdentifier)) {
+            trendingLeaderboard.recordView(id);
         }
 
-        return mapToBlogPostResponse(blogPost);
+        return blogPostResponseAssembler.toResponse(blogPost);
     }
 
     /**
@@ -143,20 +149,63 @@ public class BlogService {
             blogPosts = blogPostRepository.findByUserOrderByCreatedAtDesc(user,pageable);
         }
 
-        return blogPosts.map(this::mapToBlogPostResponse);
+        return blogPostResponseAssembler.toResponsePage(blogPosts);
     }
 
     public Page<BlogPostResponse> getBlogPostsByCategory(Long categoryId, Pageable pageable) {
         Category category = categoryRepository.findById(categoryId)
                 .orElseThrow(() -> new ResourceNotFoundException("Category not found"));
 
-        return blogPostRepository.findByCategoryOrderByCreatedAtDesc(category, pageable)
-                .map(this::mapToBlogPostResponse);
+        return blogPostResponseAssembler.toResponsePage(
+                blogPostRepository.findByCategoryOrderByCreatedAtDesc(category, pageable));
     }
 
+    /**
+     * Full-text search over published blog posts, most relevant first.
+     * Every word of the search term must match, either whole or as a prefix.
+     */
     public Page<BlogPostResponse> searchBlogPosts(String searchTerm, Pageable pageable) {
-        return blogPostRepository.searchBlogPosts(searchTerm, pageable)
-                .map(this::mapToBlogPostResponse);
+        String tsQuery = toPrefixTsQuery(searchTerm);
+        if (tsQuery == null) {
+            return Page.empty(pageable);
+        }
+
+        // Results are ordered by relevance, any requested sort is ignored
+        Page<BlogSearchHit> hits = blogPostRepository.searchPublished(tsQuery,
+                PageRequest.of(pageable.getPageNumber(), pageable.getPageSize()));
+
+        List<Long> ids = hits.map(BlogSearchHit::getId).getContent();
+        Map<Long, BlogPost> postsById = blogPostRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(BlogPost::getId, Function.identity()));
+        List<BlogPost> posts = ids.stream()
+                .map(postsById::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+
+        Map<Long, String> highlights = new HashMap<>();
+        hits.forEach(hit -> highlights.put(hit.getId(), hit.getHighlight()));
+
+        List<BlogPostResponse> responses = blogPostResponseAssembler.toResponses(posts).stream()
+                .map(response -> response.toBuilder().highlight(highlights.get(response.id())).build())
+                .collect(Collectors.toList());
+
+        return new PageImpl<>(responses, hits.getPageable(), hits.getTotalElements());
+    }
+
+    /**
+     * Turn free text into a to_tsquery expression: words are ANDed and matched as prefixes.
+     * Anything but letters and digits is dropped, so user input cannot break the query syntax.
+     * @return the expression, or null if the text has no searchable words
+     */
+    private static String toPrefixTsQuery(String searchTerm) {
+        if (searchTerm == null) {
+            return null;
+        }
+        String tsQuery = Arrays.stream(searchTerm.toLowerCase().split("[^\\p{L}\\p{N}]+"))
+                .filter(word -> !word.isEmpty())
+                .map(word -> word + ":*")
+                .collect(Collectors.joining(" & "));
+        return tsQuery.isEmpty() ? null : tsQuery;
     }
 
     @Transactional
@@ -178,6 +227,7 @@ public class BlogService {
         blogPost.setTags(request.tags() != null ? String.join(",", request.tags()) : null);
 
         // Update category if provided
+        Category previousCategory = blogPost.getCategory();
         if (request.categoryId() != null) {
             Category category = categoryRepository.findById(request.categoryId())
                     .orElseThrow(() -> new ResourceNotFoundException("Category not found"));
@@ -187,6 +237,11 @@ public class BlogService {
         }
 
         BlogPost updatedBlogPost = blogPostRepository.save(blogPost);
+        localSearchService.indexBlogPost(updatedBlogPost);
+        if (updatedBlogPost.getStatus() != BlogStatus.PUBLISHED) {
+            trendingLeaderboard.remove(updatedBlogPost.getId());
+        }
+        categoryCountCache.moved(previousCategory, updatedBlogPost.getCategory());
 
         Map<String, Object> metadata = new HashMap<>();
         metadata.put("blogPostTitle", blogPost.getTitle());
@@ -199,7 +254,7 @@ public class BlogService {
                 metadata
         );
 
-        return mapToBlogPostResponse(updatedBlogPost);
+        return blogPostResponseAssembler.toResponse(updatedBlogPost);
     }
 
     @Transactional
@@ -214,6 +269,10 @@ public class BlogService {
 
         // Delete the blog post
         blogPostRepository.delete(blogPost);
+        localSearchService.removeBlogPost(blogPost.getId());
+        trendingLeaderboard.remove(blogPost.getId());
+        categoryCountCache.removed(blogPost.getCategory());
+        userStatsService.blogPostDeleted(blogPost.getUser().getId());
 
         Map<String, Object> metadata = new HashMap<>();
         metadata.put("blogPostTitle", blogPost.getTitle());
@@ -242,6 +301,10 @@ public class BlogService {
         blogPost.setStatus(status);
 
         BlogPost updatedBlogPost = blogPostRepository.save(blogPost);
+        localSearchService.indexBlogPost(updatedBlogPost);
+        if (status != BlogStatus.PUBLISHED) {
+            trendingLeaderboard.remove(updatedBlogPost.getId());
+        }
 
         if (status.equals(BlogStatus.PUBLISHED)) {
             Map<String, Object> metadata = new HashMap<>();
@@ -256,7 +319,7 @@ public class BlogService {
             );
         }
 
-        return mapToBlogPostResponse(updatedBlogPost);
+        return blogPostResponseAssembler.toResponse(updatedBlogPost);
     }
 
     @Transactional
@@ -273,6 +336,8 @@ public class BlogService {
         if (existingLike.isPresent()) {
             // Remove the like
             likeRepository.delete(existingLike.get());
+            blogPostRepository.adjustLikesCount(blogPost.getId(), -1);
+            blogPost.setLikesCount(blogPost.getLikesCount() - 1);
 
             // Track unlike activity
             Map<String, Object> metadata = new HashMap<>();
@@ -292,6 +357,11 @@ public class BlogService {
             like.setUser(user);
             like.setBlogPost(blogPost);
             likeRepository.save(like);
+            blogPostRepository.adjustLikesCount(blogPost.getId(), 1);
+            blogPost.setLikesCount(blogPost.getLikesCount() + 1);
+            if (blogPost.getStatus() == BlogStatus.PUBLISHED) {
+                trendingLeaderboard.recordLike(blogPost.getId());
+            }
 
             // Track like activity
             Map<String, Object> metadata = new HashMap<>();
@@ -306,7 +376,7 @@ public class BlogService {
             );
         }
 
-        return mapToBlogPostResponse(blogPost);
+        return blogPostResponseAssembler.toResponse(blogPost);
     }
 
     @Transactional
@@ -327,6 +397,8 @@ public class BlogService {
         comment.setCreatedAt(LocalDateTime.now());
 
         Comment savedComment = commentRepository.save(comment);
+        blogPostRepository.adjustCommentsCount(blogPost.getId(), 1);
+        trendingLeaderboard.recordComment(blogPost.getId());
 
         // Track comment activity
         Map<String, Object> metadata = new HashMap<>();
@@ -382,6 +454,7 @@ public class BlogService {
         }
 
         commentRepository.delete(comment);
+        blogPostRepository.adjustCommentsCount(comment.getBlogPost().getId(), -1);
 
         // Track comment activity
         Map<String, Object> metadata = new HashMap<>();
@@ -413,61 +486,33 @@ public class BlogService {
                 .map(this::mapToCommentResponse);
     }
 
-    @Transactional
-    public void incrementBlogViews(Long blogId) {
-        blogPostRepository.incrementViews(blogId);
-    }
-
     public Page<BlogPostResponse> getTrendingBlogs(Pageable pageable) {
-        return blogPostRepository.findTrendingBlogs(BlogStatus.PUBLISHED, pageable)
-                .map(this::mapToBlogPostResponse);
+        return blogPostResponseAssembler.toResponsePage(
+                blogPostRepository.findTrendingBlogs(BlogStatus.PUBLISHED, pageable));
     }
 
-    public List<BlogPostResponse> getTopTrendingBlogs() {
-        return blogPostRepository.findTop5ByStatusOrderByViewsDesc(BlogStatus.PUBLISHED)
-                .stream()
-                .map(this::mapToBlogPostResponse)
-                .toList();
-    }
+    /**
+     * Get the top trending blog posts ranked by the in-memory leaderboard
+     */
+    public List<BlogPostResponse> getTopTrendingBlogs(int limit) {
+        int size = Math.min(Math.max(limit, 1), TrendingLeaderboard.MAX_SIZE);
+        List<Long> ids = trendingLeaderboard.top(size);
+        if (ids.isEmpty()) {
+            return blogPostResponseAssembler.toResponses(
+                    blogPostRepository.findTrendingBlogs(BlogStatus.PUBLISHED, PageRequest.of(0, size)).getContent());
+        }
 
-    public List<CategoryCount> getCategoryWiseBlogCount() {
-        return blogPostRepository.getCategoryWiseBlogCount().stream()
-                .map(obj -> new CategoryCount((String) obj[0], (Long) obj[1]))
+        Map<Long, BlogPost> postsById = blogPostRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(BlogPost::getId, Function.identity()));
+        List<BlogPost> posts = ids.stream()
+                .map(postsById::get)
+                .filter(post -> post != null && post.getStatus() == BlogStatus.PUBLISHED)
                 .collect(Collectors.toList());
+        return blogPostResponseAssembler.toResponses(posts);
     }
 
-    private BlogPostResponse mapToBlogPostResponse(BlogPost blogPost) {
-        long likesCount = likeRepository.countByBlogPost(blogPost);
-        long commentsCount = commentRepository.countByBlogPost(blogPost);
-        boolean isLikedByCurrentUser = false;
-
-        if (currentUser != null) {
-            isLikedByCurrentUser = likeRepository.existsByUserAndBlogPost(currentUser.getUser(), blogPost);
-        }
-
-        List<String> tagList = blogPost.getTags() != null ?
-                List.of(blogPost.getTags().split(",")) :
-                List.of();
-
-        return BlogPostResponse.builder()
-                .id(blogPost.getId())
-                .title(blogPost.getTitle())
-                .content(blogPost.getContent())
-                .featuredImage(blogPost.getFeaturedImage())
-                .status(blogPost.getStatus())
-                .userId(blogPost.getUser().getId())
-                .author(blogPost.getUser().getFullName())
-                .categoryId(blogPost.getCategory() != null ? blogPost.getCategory().getId() : null)
-                .categoryName(blogPost.getCategory() != null ? blogPost.getCategory().getName() : null)
-                .likesCount(likesCount)
-                .commentsCount((int) commentsCount)
-                .views(blogPost.getViews())
-                .createdAt(blogPost.getCreatedAt())
-                .updatedAt(blogPost.getUpdatedAt())
-                .isLikedByCurrentUser(isLikedByCurrentUser)
-                .authorProfileImage(blogPost.getUser().getProfileImage())
-                .tags(tagList)
-                .build();
+    public List<CategoryCount> getCategoryWiseBlogCount() {
+        return categoryCountCache.getCounts();
     }
 
     private CommentResponse mapToCommentResponse(Comment comment) {
@@ -0,0 +1,46 @@
+package com.bucket.thingstodobeforedie.service;
+
+import com.bucket.thingstodobeforedie.repository.BlogPostRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Background job that recomputes the trending score of recent published blog posts,
+ * so trending lists are read from an index instead of being ranked per request.
+ * <p>
+ * The score follows the usual gravity decay: engagement divided by the post's age
+ * raised to a power, so new posts with a burst of activity outrank old popular ones.
+ */
+@Component
+@Slf4j
+public class BlogTrendingScoreUpdater {
+
+    private final BlogPostRepository blogPostRepository;
+    private final double likeWeight;
+    private final double commentWeight;
+    private final double gravity;
+    private final int windowHours;
+
+    public BlogTrendingScoreUpdater(BlogPostRepository blogPostRepository,
+                                    @Value("${app.blog.trending.like-weight:3}") double likeWeight,
+                                    @Value("${app.blog.trending.comment-weight:5}") double commentWeight,
+                                    @Value("${app.blog.trending.gravity:1.8}") double gravity,
+                                    @Value("${app.blog.trending.window-hours:720}") int windowHours) {
+        this.blogPostRepository = blogPostRepository;
+        this.likeWeight = likeWeight;
+        this.commentWeight = commentWeight;
+        this.gravity = gravity;
+        this.windowHours = windowHours;
+    }
+
+    @Scheduled(initialDelayString = "${app.blog.trending.refresh-initial-delay-ms:10000}",
+               fixedDelayString = "${app.blog.trending.refresh-interval-ms:300000}")
+    @Transactional
+    public void refresh() {
+        int updated = blogPostRepository.refreshTrendingScores(likeWeight, commentWeight, gravity, windowHours);
+        log.debug("Refreshed trending scores of {} blog posts", updated);
+    }
+}
@@ -0,0 +1,136 @@
+package com.bucket.thingstodobeforedie.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Write-behind buffer for blog post view counts.
+ * Views are collected in memory with one striped counter per blog post and written
+ * to the database in a single JDBC batch per flush interval, so popular posts no
+ * longer serialize on a row lock for every view.
+ */
+@Component
+@Slf4j
+public class BlogViewCountBuffer {
+
+    private static final String FLUSH_SQL = "UPDATE blog_posts SET views = views + ? WHERE id = ?";
+
+    // Counters left at zero by a flush are removed, so only posts viewed recently are kept
+    private final Map<Long, LongAdder> pendingViews = new ConcurrentHashMap<>();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Timer flushTimer;
+
+    public BlogViewCountBuffer(JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.flushTimer = Timer.builder("blog.views.flush")
+                .description("Time taken to write buffered blog views to the database")
+                .register(meterRegistry);
+        Gauge.builder("blog.views.pending", this, BlogViewCountBuffer::getPendingTotal)
+                .description("Blog views collected but not yet written to the database")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Record one view of a blog post
+     */
+    public void increment(Long blogId) {
+        add(blogId, 1);
+    }
+
+    /**
+     * Views of a blog post that have not been written to the database yet
+     */
+    public long getPending(Long blogId) {
+        LongAdder pending = pendingViews.get(blogId);
+        return pending != null ? pending.sum() : 0;
+    }
+
+    /**
+     * Views of all blog posts that have not been written to the database yet
+     */
+    public long getPendingTotal() {
+        return pendingViews.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    /**
+     * Write all buffered views with one batched UPDATE
+     */
+    @Scheduled(fixedDelayString = "${app.blog.views.flush-interval-ms:5000}")
+    public synchronized void flush() {
+        List<Object[]> batch = new ArrayList<>();
+        pendingViews.forEach((blogId, pending) -> {
+            long delta = pending.sumThenReset();
+            if (delta != 0) {
+                batch.add(new Object[]{delta, blogId});
+            }
+        });
+
+        if (batch.isEmpty()) {
+            removeDrained();
+            return;
+        }
+
+        Timer.Sample sample = Timer.start();
+        try {
+            jdbcTemplate.batchUpdate(FLUSH_SQL, batch);
+            log.debug("Flushed view counts for {} blog posts", batch.size());
+            removeDrained();
+        } catch (DataAccessException e) {
+            log.error("Error flushing blog view counts, will retry: {}", e.getMessage());
+            // Put the deltas back so the next flush retries them
+            for (Object[] row : batch) {
+                add((Long) row[1], (Long) row[0]);
+            }
+        } finally {
+            sample.stop(flushTimer);
+        }
+    }
+
+    private void add(Long blogId, long views) {
+        LongAdder pending = pendingViews.computeIfAbsent(blogId, id -> new LongAdder());
+        pending.add(views);
+        // A flush may have removed the counter meanwhile; move what it holds to the current one.
+        // sumThenReset takes each view exactly once, whether here or in removeDrained.
+        if (pendingViews.get(blogId) != pending) {
+            long stranded = pending.sumThenReset();
+            if (stranded != 0) {
+                add(blogId, stranded);
+            }
+        }
+    }
+
+    /**
+     * Remove counters that are at zero, so posts no longer viewed do not stay in the map
+     */
+    private void removeDrained() {
+        pendingViews.forEach((blogId, pending) -> {
+            if (pending.sum() == 0 && pendingViews.remove(blogId, pending)) {
+                // Views added between the check and the removal
+                long stranded = pending.sumThenReset();
+                if (stranded != 0) {
+                    add(blogId, stranded);
+                }
+            }
+        });
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        log.info("Flushing buffered blog view counts before shutdown");
+        flush();
+    }
+}
@@ -0,0 +1,36 @@
+package com.bucket.thingstodobeforedie.service;
+
+import com.bucket.thingstodobeforedie.repository.BucketListRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Background job that repairs drift in the denormalized total and completed item
+ * counters on bucket lists by recounting them from the bucket list items table, then
+ * settles the status of lists whose counters no longer match it. User stats follow on
+ * the next run of the user stats reconciler.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BucketListCounterReconciler {
+
+    private final BucketListRepository bucketListRepository;
+
+    @Scheduled(initialDelayString = "${app.bucket-lists.counters.reconcile-initial-delay-ms:60000}",
+               fixedDelayString = "${app.bucket-lists.counters.reconcile-interval-ms:3600000}")
+    @Transactional
+    public void reconcile() {
+        int fixed = bucketListRepository.reconcileItemCounts();
+        int settled = bucketListRepository.reconcileStatuses();
+
+        if (fixed > 0 || settled > 0) {
+            log.warn("Repaired item counters of {} and status of {} bucket lists", fixed, settled);
+        } else {
+            log.debug("Bucket list item counters are consistent");
+        }
+    }
+}
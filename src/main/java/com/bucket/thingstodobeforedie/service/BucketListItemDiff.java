@@ -0,0 +1,78 @@
+package com.bucket.thingstodobeforedie.service;
+
+import com.bucket.thingstodobeforedie.dto.BucketListItemRequest;
+import com.bucket.thingstodobeforedie.entity.BucketListItem;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Difference between the stored items of a bucket list and the items requested for it.
+ * <p>
+ * Requested items are matched to stored ones by id first, then by name among the stored
+ * items that are still unmatched. Matched pairs become updates, unmatched requested items
+ * become inserts and unmatched stored items become deletes. Runs in linear time.
+ */
+public record BucketListItemDiff(List<BucketListItemRequest> inserts,
+                                 List<Update> updates,
+                                 List<BucketListItem> deletes) {
+
+    /**
+     * A stored item and the requested values it should take
+     */
+    public record Update(BucketListItem item, BucketListItemRequest request) {
+    }
+
+    public static BucketListItemDiff compute(List<BucketListItem> existing, List<BucketListItemRequest> requested) {
+        Map<Long, BucketListItem> byId = new HashMap<>(existing.size() * 2);
+        for (BucketListItem item : existing) {
+            byId.put(item.getId(), item);
+        }
+
+        Set<BucketListItem> matched = Collections.newSetFromMap(new IdentityHashMap<>(existing.size() * 2));
+        List<Update> updates = new ArrayList<>();
+        List<BucketListItemRequest> unmatchedRequests = new ArrayList<>();
+        for (BucketListItemRequest request : requested) {
+            BucketListItem item = request.id() != null ? byId.get(request.id()) : null;
+            if (item != null && matched.add(item)) {
+                updates.add(new Update(item, request));
+            } else {
+                unmatchedRequests.add(request);
+            }
+        }
+
+        Map<String, Deque<BucketListItem>> byName = new HashMap<>();
+        for (BucketListItem item : existing) {
+            if (!matched.contains(item)) {
+                byName.computeIfAbsent(item.getName(), name -> new ArrayDeque<>()).add(item);
+            }
+        }
+
+        List<BucketListItemRequest> inserts = new ArrayList<>();
+        for (BucketListItemRequest request : unmatchedRequests) {
+            Deque<BucketListItem> candidates = byName.get(request.name());
+            BucketListItem item = candidates != null ? candidates.poll() : null;
+            if (item != null) {
+                matched.add(item);
+                updates.add(new Update(item, request));
+            } else {
+                inserts.add(request);
+            }
+        }
+
+        List<BucketListItem> deletes = new ArrayList<>();
+        for (BucketListItem item : existing) {
+            if (!matched.contains(item)) {
+                deletes.add(item);
+            }
+        }
+        return new BucketListItemDiff(inserts, updates, deletes);
+    }
+}
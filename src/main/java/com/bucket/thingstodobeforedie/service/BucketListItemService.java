@@ -3,8 +3,11 @@ package com.bucket.thingstodobeforedie.service;
 import com.bucket.thingstodobeforedie.dto.BucketListItemResponse;
 import com.bucket.thingstodobeforedie.dto.BucketListItemRequest;
 import com.bucket.thingstodobeforedie.dto.PagedResponse;
+import com.bucket.thingstodobeforedie.entity.ActivityIcon;
+import com.bucket.thingstodobeforedie.entity.ActivityType;
 import com.bucket.thingstodobeforedie.entity.BucketList;
 import com.bucket.thingstodobeforedie.entity.BucketListItem;
+import com.bucket.thingstodobeforedie.entity.BucketStatus;
 import com.bucket.thingstodobeforedie.entity.User;
 import com.bucket.thingstodobeforedie.exception.ResourceNotFoundException;
 import com.bucket.thingstodobeforedie.repository.BucketListItemRepository;
@@ -16,9 +19,19 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -27,10 +40,14 @@ public class BucketListItemService {
     private final BucketListItemRepository bucketListItemRepository;
     private final BucketListRepository bucketListRepository;
     private final CurrentUser currentUser;
+    private final LocalSearchService localSearchService;
+    private final ActivityService activityService;
+    private final BucketListStatusService bucketListStatusService;
 
     /**
      * Create a new bucket list item
      */
+    @Transactional
     public BucketListItemResponse createBucketListItem(Long bucketListId, BucketListItemRequest request) {
         User user = currentUser.getUser();
 
@@ -54,9 +71,140 @@ public class BucketListItemService {
                 .build();
 
         bucketListItemRepository.save(item);
+        bucketListRepository.adjustItemCounts(bucketListId, 1, 0, LocalDateTime.now());
+        bucketListStatusService.settle(bucketList);
+        localSearchService.indexBucketList(bucketList, bucketListItemRepository.findByBucketListId(bucketListId));
         return mapToRecord(item);
     }
 
+    /**
+     * Add several items to a bucket list with batched inserts
+     */
+    @Transactional
+    public List<BucketListItemResponse> createBucketListItems(Long bucketListId, List<BucketListItemRequest> requests) {
+        User user = currentUser.getUser();
+        BucketList bucketList = getOwnedBucketList(bucketListId, user);
+
+        LocalDateTime now = LocalDateTime.now();
+        List<BucketListItem> items = requests.stream()
+                .map(request -> BucketListItem.builder()
+                        .name(request.name())
+                        .description(request.description())
+                        .completed(request.completed())
+                        .completedAt(request.completed() ? now : null)
+                        .deadline(request.deadline())
+                        .priority(request.priority())
+                        .bucketList(bucketList)
+                        .notes(request.notes())
+                        .build())
+                .collect(Collectors.toList());
+
+        bucketListItemRepository.saveAll(items);
+        int completed = (int) items.stream().filter(BucketListItem::isCompleted).count();
+        bucketListRepository.adjustItemCounts(bucketListId, items.size(), completed, LocalDateTime.now());
+        settleAndTrackCompletion(user, bucketList);
+
+        trackBulkActivity(user, bucketList, "Added", items.size());
+        localSearchService.indexBucketList(bucketList, bucketListItemRepository.findByBucketListId(bucketListId));
+        return items.stream().map(this::mapToRecord).collect(Collectors.toList());
+    }
+
+    /**
+     * Toggle the completion of several items of a bucket list
+     */
+    @Transactional
+    public List<BucketListItemResponse> toggleBucketListItems(Long bucketListId, List<Long> itemIds) {
+        User user = currentUser.getUser();
+        BucketList bucketList = getOwnedBucketList(bucketListId, user);
+        List<BucketListItem> items = getItems(bucketListId, itemIds);
+
+        // Two conditional updates, one per direction; items a concurrent toggle already
+        // flipped are not matched, so each change is counted once
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> toComplete = new ArrayList<>();
+        List<Long> toReopen = new ArrayList<>();
+        for (BucketListItem item : items) {
+            (item.isCompleted() ? toReopen : toComplete).add(item.getId());
+        }
+        int completedDelta = 0;
+        if (!toComplete.isEmpty()) {
+            completedDelta += bucketListItemRepository.updateCompleted(toComplete, true, now, now);
+        }
+        if (!toReopen.isEmpty()) {
+            completedDelta -= bucketListItemRepository.updateCompleted(toReopen, false, null, now);
+        }
+
+        // Mirror the changes on the loaded items for the response, the columns are not updatable
+        for (BucketListItem item : items) {
+            item.setCompleted(!item.isCompleted());
+            item.setCompletedAt(item.isCompleted() ? now : null);
+            item.setUpdatedAt(now);
+        }
+
+        bucketListRepository.adjustItemCounts(bucketListId, 0, completedDelta, now);
+        settleAndTrackCompletion(user, bucketList);
+
+        trackBulkActivity(user, bucketList, "Toggled", items.size());
+        return items.stream().map(this::mapToRecord).collect(Collectors.toList());
+    }
+
+    /**
+     * Move the given items to the top of a bucket list in the given order; the other items
+     * keep their relative order after them
+     */
+    @Transactional
+    public List<BucketListItemResponse> reorderBucketListItems(Long bucketListId, List<Long> itemIds) {
+        User user = currentUser.getUser();
+        BucketList bucketList = getOwnedBucketList(bucketListId, user);
+
+        Map<Long, BucketListItem> itemsById = new HashMap<>();
+        for (BucketListItem item : bucketListItemRepository.findByBucketListId(bucketListId)) {
+            itemsById.put(item.getId(), item);
+        }
+
+        Set<Long> requestedIds = new LinkedHashSet<>(itemIds);
+        if (!itemsById.keySet().containsAll(requestedIds)) {
+            throw new ResourceNotFoundException("Bucket list item not found in bucket list with id: " + bucketListId);
+        }
+
+        List<BucketListItem> ordered = new ArrayList<>(itemsById.size());
+        requestedIds.forEach(id -> ordered.add(itemsById.get(id)));
+        itemsById.values().stream()
+                .filter(item -> !requestedIds.contains(item.getId()))
+                .sorted(Comparator.comparing(BucketListItem::getPosition, Comparator.nullsLast(Comparator.naturalOrder()))
+                        .thenComparing(BucketListItem::getId))
+                .forEach(ordered::add);
+
+        // Only items whose position changed are made dirty, and written in batches
+        for (int position = 0; position < ordered.size(); position++) {
+            BucketListItem item = ordered.get(position);
+            if (!Integer.valueOf(position).equals(item.getPosition())) {
+                item.setPosition(position);
+            }
+        }
+
+        trackBulkActivity(user, bucketList, "Reordered", requestedIds.size());
+        return ordered.stream().map(this::mapToRecord).collect(Collectors.toList());
+    }
+
+    /**
+     * Delete several items of a bucket list with a single statement
+     */
+    @Transactional
+    public void deleteBucketListItems(Long bucketListId, List<Long> itemIds) {
+        User user = currentUser.getUser();
+        BucketList bucketList = getOwnedBucketList(bucketListId, user);
+        List<BucketListItem> items = getItems(bucketListId, itemIds);
+
+        int completed = (int) items.stream().filter(BucketListItem::isCompleted).count();
+        bucketListItemRepository.deleteAllByIdInBatch(items.stream().map(BucketListItem::getId).collect(Collectors.toList()));
+        bucketListRepository.adjustItemCounts(bucketListId, -items.size(), -completed, LocalDateTime.now());
+        settleAndTrackCompletion(user, bucketList);
+
+        trackBulkActivity(user, bucketList, "Removed", items.size());
+        localSearchService.indexBucketList(bucketList, bucketListItemRepository.findByBucketListId(bucketListId));
+    }
+
     /**
      * Get bucket list item by id
      */
@@ -105,6 +253,76 @@ public class BucketListItemService {
                 items.getSize(), items.getTotalElements(), items.getTotalPages(), items.isLast());
     }
 
+    /**
+     * Search the items of all of the current user's bucket lists, tolerating typos
+     */
+    public PagedResponse<BucketListItemResponse> searchItems(String query, int page, int size) {
+        validatePageNumberAndSize(page, size);
+
+        Page<BucketListItem> items = bucketListItemRepository.fuzzySearchByUserId(
+                currentUser.getUserId(), query.trim(), PageRequest.of(page, size));
+
+        return new PagedResponse<>(items.map(this::mapToRecord).getContent(), items.getNumber(),
+                items.getSize(), items.getTotalElements(), items.getTotalPages(), items.isLast());
+    }
+
+    private BucketList getOwnedBucketList(Long bucketListId, User user) {
+        BucketList bucketList = bucketListRepository.findById(bucketListId)
+                .orElseThrow(() -> new ResourceNotFoundException("Bucket list not found with id: " + bucketListId));
+
+        if (!bucketList.getUser().getId().equals(user.getId())) {
+            throw new ResourceNotFoundException("Bucket list not found with id: " + bucketListId);
+        }
+        return bucketList;
+    }
+
+    /**
+     * Load the given items of a bucket list, failing if any of them is not in it
+     */
+    private List<BucketListItem> getItems(Long bucketListId, List<Long> itemIds) {
+        Set<Long> ids = new HashSet<>(itemIds);
+        List<BucketListItem> items = bucketListItemRepository.findByBucketListIdAndIdIn(bucketListId, ids);
+        if (items.size() != ids.size()) {
+            throw new ResourceNotFoundException("Bucket list item not found in bucket list with id: " + bucketListId);
+        }
+        return items;
+    }
+
+    /**
+     * Track a bulk change as a single activity instead of one per item
+     */
+    /**
+     * Settle the status of a bucket list after a bulk change and record its completion,
+     * as a single item toggle does
+     */
+    private void settleAndTrackCompletion(User user, BucketList bucketList) {
+        BucketStatus previousStatus = bucketList.getStatus();
+        BucketStatus status = bucketListStatusService.settle(bucketList);
+        if (status == BucketStatus.COMPLETED && previousStatus != BucketStatus.COMPLETED) {
+            activityService.trackActivity(
+                    user,
+                    ActivityType.BUCKET_LIST_COMPLETED,
+                    String.format("Completed the bucket list \"%s\"", bucketList.getName()),
+                    ActivityIcon.BUCKET_LIST_COMPLETED,
+                    Map.of("bucketListName", bucketList.getName())
+            );
+        }
+    }
+
+    private void trackBulkActivity(User user, BucketList bucketList, String action, int itemCount) {
+        Map<String, Object> metadata = new HashMap<>();
+        metadata.put("bucketListName", bucketList.getName());
+        metadata.put("itemCount", itemCount);
+
+        activityService.trackActivity(
+                user,
+                ActivityType.BUCKET_LIST_UPDATED,
+                String.format("%s %d items in \"%s\"", action, itemCount, bucketList.getName()),
+                ActivityIcon.BUCKET_LIST_UPDATED,
+                metadata
+        );
+    }
+
     /**
      * Map BucketListItem entity to BucketListItemRecord DTO
      */
@@ -117,6 +335,7 @@ public class BucketListItemService {
                 .deadline(item.getDeadline())
                 .completedAt(item.getCompletedAt())
                 .priority(item.getPriority())
+                .position(item.getPosition())
                 .bucketListId(item.getBucketList().getId())
                 .bucketListName(item.getBucketList().getName())
                 .createdAt(item.getCreatedAt())
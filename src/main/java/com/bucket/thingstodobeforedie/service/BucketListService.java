@@ -5,6 +5,7 @@ import com.bucket.thingstodobeforedie.entity.*;
 import com.bucket.thingstodobeforedie.exception.ResourceNotFoundException;
 import com.bucket.thingstodobeforedie.repository.BucketListItemRepository;
 import com.bucket.thingstodobeforedie.repository.BucketListRepository;
+import com.bucket.thingstodobeforedie.repository.BucketListDueDate;
 import com.bucket.thingstodobeforedie.repository.CategoryRepository;
 import com.bucket.thingstodobeforedie.security.CurrentUser;
 import lombok.RequiredArgsConstructor;
@@ -31,6 +32,9 @@ public class BucketListService {
     private final CategoryRepository categoryRepository;
     private final CurrentUser currentUser;
     private final ActivityService activityService;
+    private final LocalSearchService localSearchService;
+    private final UserStatsService userStatsService;
+    private final BucketListStatusService bucketListStatusService;
 
     /**
      * Create a new bucket list
@@ -50,6 +54,8 @@ public class BucketListService {
             tags = String.join(",", request.tags());
         }
 
+        List<BucketListItemRequest> requestedItems = request.bucketItems() != null ? request.bucketItems() : List.of();
+
         BucketList bucketList = BucketList.builder()
                 .name(request.name())
                 .description(request.description())
@@ -57,9 +63,12 @@ public class BucketListService {
                 .category(category)
                 .tags(tags)
                 .status(BucketStatus.ACTIVE)
+                .totalItems(requestedItems.size())
+                .completedItems((int) requestedItems.stream().filter(BucketListItemRequest::completed).count())
                 .build();
 
         BucketList savedBucketList = bucketListRepository.save(bucketList);
+        userStatsService.bucketListCreated(user.getId(), savedBucketList.getStatus());
 
         Map<String, Object> metadata = new HashMap<>();
         metadata.put("bucketListName", savedBucketList.getName());
@@ -86,7 +95,9 @@ public class BucketListService {
 
             bucketListItemRepository.saveAll(bucketItems);
             savedBucketList.setBucketListItems(bucketItems);
+            bucketListStatusService.settle(savedBucketList);
         }
+        localSearchService.indexBucketList(savedBucketList, savedBucketList.getBucketListItems());
         
         return mapToRecord(savedBucketList);
     }
@@ -113,7 +124,7 @@ public class BucketListService {
      * Get all bucket lists for current user with pagination
      */
     @Transactional(readOnly = true)
-    public PagedResponse<BucketListResponse> getBucketLists(int page, int size) {
+    public PagedResponse<BucketListResponse> getBucketLists(int page, int size, boolean summary) {
         User user = currentUser.getUser();
         
         validatePageNumberAndSize(page, size);
@@ -131,9 +142,9 @@ public class BucketListService {
                     bucketLists.isLast());
         }
         
-        List<BucketListResponse> bucketListResponses = bucketLists.getContent().stream()
-                .map(this::mapToRecord)
-                .collect(Collectors.toList());
+        List<BucketListResponse> bucketListResponses = summary
+                ? mapToSummaries(bucketLists.getContent())
+                : mapPageToRecords(bucketLists.getContent());
         
         return new PagedResponse<>(
                 bucketListResponses,
@@ -148,7 +159,7 @@ public class BucketListService {
      * Get bucket lists by category
      */
     @Transactional(readOnly = true)
-    public PagedResponse<BucketListResponse> getBucketListsByCategory(Long categoryId, int page, int size) {
+    public PagedResponse<BucketListResponse> getBucketListsByCategory(Long categoryId, int page, int size, boolean summary) {
         User user = currentUser.getUser();
         
         validatePageNumberAndSize(page, size);
@@ -169,9 +180,9 @@ public class BucketListService {
                     bucketLists.isLast());
         }
         
-        List<BucketListResponse> bucketListResponses = bucketLists.getContent().stream()
-                .map(this::mapToRecord)
-                .collect(Collectors.toList());
+        List<BucketListResponse> bucketListResponses = summary
+                ? mapToSummaries(bucketLists.getContent())
+                : mapPageToRecords(bucketLists.getContent());
         
         return new PagedResponse<>(
                 bucketListResponses,
@@ -182,6 +193,25 @@ public class BucketListService {
                 bucketLists.isLast());
     }
 
+    /**
+     * Search the current user's bucket lists by name and description, tolerating typos
+     */
+    @Transactional(readOnly = true)
+    public PagedResponse<BucketListResponse> searchBucketLists(String query, int page, int size) {
+        validatePageNumberAndSize(page, size);
+
+        Page<BucketList> bucketLists = bucketListRepository.fuzzySearchByUserId(
+                currentUser.getUserId(), query.trim(), PageRequest.of(page, size));
+
+        return new PagedResponse<>(
+                mapPageToRecords(bucketLists.getContent()),
+                bucketLists.getNumber(),
+                bucketLists.getSize(),
+                bucketLists.getTotalElements(),
+                bucketLists.getTotalPages(),
+                bucketLists.isLast());
+    }
+
     /**
      * Update bucket list
      */
@@ -222,29 +252,30 @@ public class BucketListService {
 
         // Update bucket list items if provided
         if (request.bucketItems() != null && !request.bucketItems().isEmpty()) {
-            // Fetch existing items
-            List<BucketListItem> existingItems = bucketListItemRepository.findByBucketListId(id);
-
-            // Map incoming request items by name for comparison
-            Map<String, BucketListItemRequest> incomingItemsMap = request.bucketItems().stream()
-                    .collect(Collectors.toMap(BucketListItemRequest::name, item -> item));
-
-            // Process updates and deletions
-            existingItems.forEach(existingItem -> {
-                if (incomingItemsMap.containsKey(existingItem.getName())) {
-                    BucketListItemRequest incomingItem = incomingItemsMap.get(existingItem.getName());
-                    existingItem.setDescription(incomingItem.description());
-                    existingItem.setNotes(incomingItem.notes());
-                    existingItem.setDeadline(incomingItem.deadline());
-                    existingItem.setPriority(incomingItem.priority());
-                } else {
-                    bucketListItemRepository.delete(existingItem); // Remove items not in the update request
-                }
-            });
+            // Match incoming items to existing ones by id, or by name, in a single pass
+            BucketListItemDiff diff = BucketListItemDiff.compute(
+                    bucketListItemRepository.findByBucketListId(id), request.bucketItems());
+
+            // Updates are written by dirty checking and batched by Hibernate
+            for (BucketListItemDiff.Update update : diff.updates()) {
+                BucketListItem existingItem = update.item();
+                BucketListItemRequest incomingItem = update.request();
+                existingItem.setName(incomingItem.name());
+                existingItem.setDescription(incomingItem.description());
+                existingItem.setNotes(incomingItem.notes());
+                existingItem.setDeadline(incomingItem.deadline());
+                existingItem.setPriority(incomingItem.priority());
+            }
+
+            // Remove items not in the update request with one statement
+            int removedCompleted = (int) diff.deletes().stream().filter(BucketListItem::isCompleted).count();
+            if (!diff.deletes().isEmpty()) {
+                bucketListItemRepository.deleteAllByIdInBatch(
+                        diff.deletes().stream().map(BucketListItem::getId).collect(Collectors.toList()));
+            }
 
             // Add new items
-            List<BucketListItem> newItems = request.bucketItems().stream()
-                    .filter(item -> existingItems.stream().noneMatch(existingItem -> existingItem.getName().equals(item.name())))
+            List<BucketListItem> newItems = diff.inserts().stream()
                     .map(item -> BucketListItem.builder()
                             .name(item.name())
                             .description(item.description())
@@ -256,9 +287,13 @@ public class BucketListService {
                     .collect(Collectors.toList());
 
             bucketListItemRepository.saveAll(newItems);
+            bucketListRepository.adjustItemCounts(id, newItems.size() - diff.deletes().size(), -removedCompleted,
+                    LocalDateTime.now());
+            bucketListStatusService.settle(bucketList);
         }
 
         BucketList updatedBucketList = bucketListRepository.save(bucketList);
+        localSearchService.indexBucketList(updatedBucketList, bucketListItemRepository.findByBucketListId(id));
 
         Map<String, Object> metadata = new HashMap<>();
         metadata.put("bucketListName", updatedBucketList.getName());
@@ -301,6 +336,8 @@ public class BucketListService {
         );
         
         bucketListRepository.delete(bucketList);
+        userStatsService.bucketListDeleted(user.getId(), bucketList.getStatus());
+        localSearchService.removeBucketList(bucketList.getId());
     }
 
     /**
@@ -318,17 +355,25 @@ public class BucketListService {
             throw new ResourceNotFoundException("Bucket list item not found with id: " + itemId);
         }
 
-        // Toggle completion status
-        item.setCompleted(!item.isCompleted());
-
-        // Update completedAt date
-        if (item.isCompleted()) {
-            item.setCompletedAt(LocalDateTime.now());
-
-            Map<String, Object> metadata = new HashMap<>();
-            metadata.put("bucketListName", item.getBucketList().getName());
-            metadata.put("bucketListItemName", item.getName());
+        // Flip the completion only if no concurrent toggle already did
+        boolean completed = !item.isCompleted();
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime completedAt = completed ? now : null;
+        BucketList bucketList = item.getBucketList();
+        int changed = bucketListItemRepository.updateCompleted(List.of(itemId), completed, completedAt, now);
+        // Mirror the change on the loaded item for the response, the columns are not updatable.
+        // A concurrent toggle that got there first left the item in the same state.
+        item.setCompleted(completed);
+        item.setCompletedAt(completedAt);
+        item.setUpdatedAt(now);
+        if (changed == 0) {
+            return mapToRecord(bucketList);
+        }
 
+        Map<String, Object> metadata = new HashMap<>();
+        metadata.put("bucketListName", bucketList.getName());
+        metadata.put("bucketListItemName", item.getName());
+        if (completed) {
             activityService.trackActivity(
                     user,
                     ActivityType.BUCKET_ITEM_COMPLETED,
@@ -337,13 +382,7 @@ public class BucketListService {
                     metadata
             );
         } else {
-            item.setCompletedAt(null);
-
             // Track un-completion activity
-            Map<String, Object> metadata = new HashMap<>();
-            metadata.put("bucketListName", item.getBucketList().getName());
-            metadata.put("bucketListItemName", item.getName());
-
             activityService.trackActivity(
                     user,
                     ActivityType.BUCKET_ITEM_UPDATED,
@@ -353,16 +392,12 @@ public class BucketListService {
             );
         }
 
-        item.setUpdatedAt(LocalDateTime.now());
-        bucketListItemRepository.save(item);
-
-        // Check if all items in the bucket list are completed
-        BucketList bucketList = item.getBucketList();
-        boolean allCompleted = bucketList.getBucketListItems().stream().allMatch(BucketListItem::isCompleted);
-
-        if (allCompleted) {
-            bucketList.setStatus(BucketStatus.COMPLETED);
+        // Move the completed counter and flip the list status in the database
+        BucketStatus previousStatus = bucketList.getStatus();
+        bucketListRepository.adjustItemCounts(bucketList.getId(), 0, completed ? 1 : -1, now);
 
+        BucketStatus status = bucketListStatusService.settle(bucketList);
+        if (status == BucketStatus.COMPLETED && previousStatus != BucketStatus.COMPLETED) {
             // Track bucket list completion
             activityService.trackActivity(
                     user,
@@ -371,13 +406,68 @@ public class BucketListService {
                     ActivityIcon.BUCKET_LIST_COMPLETED,
                     Map.of("bucketListName", bucketList.getName())
             );
-        } else {
-            bucketList.setStatus(BucketStatus.ACTIVE);
         }
 
-        bucketListRepository.save(bucketList);
+        return mapToRecord(bucketList);
+    }
 
-        return getBucketListById(bucketListId);
+    /**
+     * Map a page of bucket lists, loading the items and categories of the whole page with
+     * one query instead of lazily per list
+     */
+    private List<BucketListResponse> mapPageToRecords(List<BucketList> bucketLists) {
+        if (bucketLists.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<Long> ids = bucketLists.stream().map(BucketList::getId).collect(Collectors.toList());
+        // Initializes the page's entities, which share the persistence context
+        bucketListRepository.findWithItemsAndCategoryByIdIn(ids);
+        return bucketLists.stream()
+                .map(this::mapToRecord)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Map bucket lists to responses without items. Progress comes from the item counters
+     * on the list rows; only the due dates need one aggregate query over the items.
+     */
+    private List<BucketListResponse> mapToSummaries(List<BucketList> bucketLists) {
+        if (bucketLists.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<Long> ids = bucketLists.stream().map(BucketList::getId).collect(Collectors.toList());
+        Map<Long, LocalDateTime> dueDates = bucketListItemRepository.findDueDatesByBucketListIdIn(ids).stream()
+                .collect(Collectors.toMap(BucketListDueDate::getBucketListId, BucketListDueDate::getDueDate));
+
+        return bucketLists.stream()
+                .map(bucketList -> mapToSummary(bucketList, dueDates.get(bucketList.getId())))
+                .collect(Collectors.toList());
+    }
+
+    private BucketListResponse mapToSummary(BucketList bucketList, LocalDateTime dueDate) {
+        int totalItems = bucketList.getTotalItems();
+        int completedItemsCount = bucketList.getCompletedItems();
+
+        List<String> tagList = bucketList.getTags() != null ?
+                List.of(bucketList.getTags().split(",")) :
+                List.of();
+
+        return new BucketListResponse(
+                bucketList.getId(),
+                bucketList.getName(),
+                bucketList.getDescription(),
+                bucketList.getImageUrl(),
+                bucketList.getUser().getId(),
+                tagList,
+                getCategoryRecord(bucketList),
+                Collections.emptyList(),
+                completedItemsCount,
+                totalItems,
+                bucketList.getCreatedAt(),
+                bucketList.getUpdatedAt(),
+                totalItems > 0 ? (completedItemsCount * 100) / totalItems : 0,
+                dueDate
+        );
     }
 
     /**
@@ -402,19 +492,7 @@ public class BucketListService {
         
         if (items != null && !items.isEmpty()) {
             itemRecords = items.stream()
-                    .map(item -> BucketListItemResponse.builder()
-                            .id(item.getId())
-                            .name(item.getName())
-                            .description(item.getDescription())
-                            .completed(item.isCompleted())
-                            .deadline(item.getDeadline())
-                            .completedAt(item.getCompletedAt())
-                            .priority(item.getPriority())
-                            .bucketListId(bucketList.getId())
-                            .bucketListName(bucketList.getName())
-                            .createdAt(item.getCreatedAt())
-                            .updatedAt(item.getUpdatedAt())
-                            .build())
+                    .map(item -> mapItemToRecord(bucketList, item))
                     .collect(Collectors.toList());
         }
 
@@ -449,6 +527,23 @@ public class BucketListService {
         );
     }
 
+    private static BucketListItemResponse mapItemToRecord(BucketList bucketList, BucketListItem item) {
+        return BucketListItemResponse.builder()
+                .id(item.getId())
+                .name(item.getName())
+                .description(item.getDescription())
+                .completed(item.isCompleted())
+                .deadline(item.getDeadline())
+                .completedAt(item.getCompletedAt())
+                .priority(item.getPriority())
+                .position(item.getPosition())
+                .bucketListId(bucketList.getId())
+                .bucketListName(bucketList.getName())
+                .createdAt(item.getCreatedAt())
+                .updatedAt(item.getUpdatedAt())
+                .build();
+    }
+
     private static CategoryResponse getCategoryRecord(BucketList bucketList) {
         CategoryResponse categoryResponse = null;
         if (bucketList.getCategory() != null) {
@@ -498,8 +593,6 @@ public class BucketListService {
         Page<BucketList> ongoingBucketLists = bucketListRepository.findByUserAndStatusOrderByCreatedAtDesc(
                 user, BucketStatus.ACTIVE, pageable);
         
-        return ongoingBucketLists.getContent().stream()
-                .map(this::mapToRecord)
-                .collect(Collectors.toList());
+        return mapToSummaries(ongoingBucketLists.getContent());
     }
 } 
\ No newline at end of file
@@ -0,0 +1,43 @@
+package com.bucket.thingstodobeforedie.service;
+
+import com.bucket.thingstodobeforedie.entity.BucketList;
+import com.bucket.thingstodobeforedie.entity.BucketStatus;
+import com.bucket.thingstodobeforedie.repository.BucketListRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+/**
+ * Keeps the status of a bucket list in line with its item counters. The status column is
+ * only written by the conditional updates used here, so concurrent item changes cannot
+ * overwrite each other's status flips. Must run inside the caller's transaction.
+ */
+@Service
+@RequiredArgsConstructor
+public class BucketListStatusService {
+
+    private final BucketListRepository bucketListRepository;
+    private final UserStatsService userStatsService;
+
+    /**
+     * Mark a bucket list completed when all of its items are, or active again when some are
+     * not, and move the owner's stats with it. Call after every change to the item counters.
+     *
+     * @return the status of the bucket list after the change
+     */
+    public BucketStatus settle(BucketList bucketList) {
+        BucketStatus previousStatus = bucketList.getStatus();
+        BucketStatus status = previousStatus;
+        if (bucketListRepository.completeIfAllItemsCompleted(bucketList.getId()) > 0) {
+            status = BucketStatus.COMPLETED;
+        } else if (bucketListRepository.reopenIfItemsIncomplete(bucketList.getId()) > 0) {
+            status = BucketStatus.ACTIVE;
+        }
+
+        if (status != previousStatus) {
+            userStatsService.bucketListStatusChanged(bucketList.getUser().getId(), previousStatus, status);
+            // Keeps the loaded entity in line, the column itself is not updatable
+            bucketList.setStatus(status);
+        }
+        return status;
+    }
+}
@@ -0,0 +1,109 @@
+package com.bucket.thingstodobeforedie.service;
+
+import com.bucket.thingstodobeforedie.dto.CategoryCount;
+import com.bucket.thingstodobeforedie.entity.Category;
+import com.bucket.thingstodobeforedie.repository.BlogPostRepository;
+import com.bucket.thingstodobeforedie.util.TransactionUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Shared blog post counts per category name.
+ * <p>
+ * Loaded once at startup and then adjusted by {@link BlogService} after each committed
+ * create, delete or category change, so readers never run the aggregate query.
+ * A periodic recount repairs drift, for example from category renames or from changes
+ * committed while a recount was running.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CategoryCountCache {
+
+    private final BlogPostRepository blogPostRepository;
+
+    private volatile Map<String, AtomicLong> counts;
+
+    /**
+     * Category counts sorted by name, omitting empty categories
+     */
+    public List<CategoryCount> getCounts() {
+        Map<String, AtomicLong> current = counts;
+        if (current == null) {
+            current = load();
+        }
+        return current.entrySet().stream()
+                .filter(entry -> entry.getValue().get() > 0)
+                .map(entry -> new CategoryCount(entry.getKey(), entry.getValue().get()))
+                .sorted(Comparator.comparing(CategoryCount::name))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Count a new blog post once the current transaction commits
+     */
+    public void added(Category category) {
+        adjust(category, 1);
+    }
+
+    /**
+     * Stop counting a deleted blog post once the current transaction commits
+     */
+    public void removed(Category category) {
+        adjust(category, -1);
+    }
+
+    /**
+     * Move a blog post between categories once the current transaction commits
+     */
+    public void moved(Category from, Category to) {
+        Long fromId = from != null ? from.getId() : null;
+        Long toId = to != null ? to.getId() : null;
+        if (fromId == null ? toId == null : fromId.equals(toId)) {
+            return;
+        }
+        adjust(from, -1);
+        adjust(to, 1);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${app.blog.category-counts.recount-interval-ms:600000}",
+               fixedDelayString = "${app.blog.category-counts.recount-interval-ms:600000}")
+    public void recount() {
+        load();
+    }
+
+    private synchronized Map<String, AtomicLong> load() {
+        Map<String, AtomicLong> fresh = new ConcurrentHashMap<>();
+        for (Object[] row : blogPostRepository.getCategoryWiseBlogCount()) {
+            fresh.put((String) row[0], new AtomicLong((Long) row[1]));
+        }
+        counts = fresh;
+        log.debug("Recounted blog posts in {} categories", fresh.size());
+        return fresh;
+    }
+
+    private void adjust(Category category, long delta) {
+        if (category == null) {
+            return;
+        }
+        String name = category.getName();
+        TransactionUtil.afterCommit(() -> {
+            Map<String, AtomicLong> current = counts;
+            if (current != null) {
+                current.computeIfAbsent(name, key -> new AtomicLong()).addAndGet(delta);
+            }
+        });
+    }
+}
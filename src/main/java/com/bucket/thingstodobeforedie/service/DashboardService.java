@@ -2,72 +2,101 @@ package com.bucket.thingstodobeforedie.service;
 
 import com.bucket.thingstodobeforedie.dto.CategoryCount;
 import com.bucket.thingstodobeforedie.dto.DashboardResponse;
-import com.bucket.thingstodobeforedie.entity.BucketStatus;
-import com.bucket.thingstodobeforedie.repository.BlogPostRepository;
-import com.bucket.thingstodobeforedie.repository.BucketListRepository;
+import com.bucket.thingstodobeforedie.entity.UserStats;
 import com.bucket.thingstodobeforedie.security.CurrentUser;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
+/**
+ * Assembles the dashboard from independent sections fetched concurrently on virtual threads.
+ * Each section is timed as {@code dashboard.section}. A section that fails or misses the
+ * deadline is logged and replaced by an empty value, so the rest of the dashboard is still returned.
+ */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class DashboardService {
 
     private final BlogService blogService;
     private final BucketListService bucketListService;
-    private final BlogPostRepository blogPostRepository;
-    private final BucketListRepository bucketListRepository;
+    private final UserStatsService userStatsService;
     private final CurrentUser currentUser;
+    private final ExecutorService dashboardExecutor;
+    private final MeterRegistry meterRegistry;
+    private final long timeoutMillis;
+
+    public DashboardService(BlogService blogService,
+                            BucketListService bucketListService,
+                            UserStatsService userStatsService,
+                            CurrentUser currentUser,
+                            @Qualifier("dashboardExecutor") ExecutorService dashboardExecutor,
+                            MeterRegistry meterRegistry,
+                            @Value("${app.dashboard.timeout-ms:2000}") long timeoutMillis) {
+        this.blogService = blogService;
+        this.bucketListService = bucketListService;
+        this.userStatsService = userStatsService;
+        this.currentUser = currentUser;
+        this.dashboardExecutor = dashboardExecutor;
+        this.meterRegistry = meterRegistry;
+        this.timeoutMillis = timeoutMillis;
+    }
 
     /**
      * Get dashboard data for the current user
      * @return Dashboard data including counts and recent items
      */
     public DashboardResponse getDashboardData() {
-        // Get the current user ID
+        // Resolve the user on the request thread, the security context is not inherited
         Long userId = currentUser.getUser().getId();
-        
-        // Get count metrics with error handling
-        long completedBucketListCount = 0;
-        long activeBucketListCount = 0;
-        long blogPostCount = 0;
-        
-        try {
-            completedBucketListCount = bucketListRepository.countByUserIdAndStatus(userId, BucketStatus.COMPLETED);
-            activeBucketListCount = bucketListRepository.countByUserIdAndStatus(userId, BucketStatus.ACTIVE);
-            blogPostCount = blogPostRepository.countByUserId(userId);
-        } catch (Exception e) {
-            log.error("Error fetching dashboard counts: {}", e.getMessage());
-        }
-        
-        // Get category-wise blog post counts
-        List<CategoryCount> blogCategories = Collections.emptyList();
-        try {
-            blogCategories = blogService.getCategoryWiseBlogCount();
-        } catch (Exception e) {
-            log.error("Error fetching category counts: {}", e.getMessage());
-        }
-        
-        // Get recent ongoing bucket list items
-        List<?> recentOngoingItems = Collections.emptyList();
-        try {
-            recentOngoingItems = bucketListService.getRecentOngoingBucketListItems(userId, 3);
-        } catch (Exception e) {
-            log.error("Error fetching recent bucket items: {}", e.getMessage());
-        }
-        
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+
+        Future<UserStats> stats = submit("stats", () -> userStatsService.getStats(userId));
+        Future<List<CategoryCount>> blogCategories = submit("blog-categories",
+                blogService::getCategoryWiseBlogCount);
+        Future<List<?>> recentOngoingItems = submit("current-goals",
+                () -> bucketListService.getRecentOngoingBucketListItems(userId, 3));
+
+        UserStats userStats = await("stats", stats, deadline, UserStats.empty(userId));
+
         // Build and return the dashboard DTO
         return DashboardResponse.builder()
-                .completedGoals(completedBucketListCount)
-                .inProgressGoals(activeBucketListCount)
-                .totalBlogPosts(blogPostCount)
-                .blogPostCategories(blogCategories)
-                .currentGoals(recentOngoingItems)
+                .completedGoals(userStats.getCompletedBucketLists())
+                .inProgressGoals(userStats.getActiveBucketLists())
+                .totalBlogPosts(userStats.getBlogPosts())
+                .blogPostCategories(await("blog-categories", blogCategories, deadline, Collections.emptyList()))
+                .currentGoals(await("current-goals", recentOngoingItems, deadline, Collections.emptyList()))
                 .build();
     }
-} 
\ No newline at end of file
+
+    private <T> Future<T> submit(String section, Callable<T> task) {
+        Timer timer = meterRegistry.timer("dashboard.section", "section", section);
+        return dashboardExecutor.submit(() -> timer.recordCallable(task));
+    }
+
+    private <T> T await(String section, Future<T> future, long deadline, T fallback) {
+        try {
+            return future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            log.error("Timed out fetching dashboard {}", section);
+        } catch (ExecutionException e) {
+            log.error("Error fetching dashboard {}: {}", section, e.getCause().getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+        }
+        return fallback;
+    }
+}
@@ -0,0 +1,28 @@
+package com.bucket.thingstodobeforedie.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Per-JVM view de-duplication backed by {@link ViewTrackingService}
+ */
+@Component
+@ConditionalOnProperty(name = "app.views.dedup.store", havingValue = "memory", matchIfMissing = true)
+@RequiredArgsConstructor
+public class InMemoryViewDedupStore implements ViewDedupStore {
+
+    private final ViewTrackingService viewTrackingService;
+    private final BlogViewCountBuffer blogViewCountBuffer;
+
+    @Override
+    public boolean registerView(Long blogId, String viewerIdentifier) {
+        // Check if the viewer has viewed this post recently
+        if (viewTrackingService.hasRecentView(blogId, viewerIdentifier)) {
+            return false;
+        }
+        blogViewCountBuffer.increment(blogId);
+        viewTrackingService.recordView(blogId, viewerIdentifier);
+        return true;
+    }
+}
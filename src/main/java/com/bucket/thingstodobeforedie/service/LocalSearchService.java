@@ -0,0 +1,361 @@
+package com.bucket.thingstodobeforedie.service;
+
+import com.bucket.thingstodobeforedie.dto.SearchHitResponse;
+import com.bucket.thingstodobeforedie.entity.BlogPost;
+import com.bucket.thingstodobeforedie.entity.BlogStatus;
+import com.bucket.thingstodobeforedie.entity.BucketList;
+import com.bucket.thingstodobeforedie.entity.BucketListItem;
+import com.bucket.thingstodobeforedie.repository.BlogPostRepository;
+import com.bucket.thingstodobeforedie.repository.BucketListItemRepository;
+import com.bucket.thingstodobeforedie.repository.BucketListRepository;
+import com.bucket.thingstodobeforedie.security.CurrentUser;
+import com.bucket.thingstodobeforedie.util.InvertedIndex;
+import com.bucket.thingstodobeforedie.util.TransactionUtil;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * Search over blog posts and bucket lists served from in-memory inverted indexes,
+ * without querying the database.
+ * <p>
+ * Published blog posts are indexed by title, tags and content. Bucket lists are indexed
+ * by name, description, tags and the names and descriptions of their items, and are
+ * only returned to their owner. The indexes are updated after each committed change
+ * and saved to snapshot files. On startup a snapshot is loaded and rows changed since
+ * it was saved are re-indexed. Without a snapshot, the indexes are rebuilt from the
+ * database once. Changes made by other instances, or while the application was down,
+ * are picked up by a periodic refresh that re-indexes rows updated since the previous
+ * one. Rows deleted elsewhere leave no update behind, so a much rarer check, and the
+ * startup, drop documents whose rows no longer exist.
+ */
+@Service
+@Slf4j
+public class LocalSearchService {
+
+    private static final int REBUILD_PAGE_SIZE = 500;
+    private static final int MAX_RESULTS = 50;
+
+    // Rows updated shortly before a snapshot or refresh may not have been committed yet,
+    // and other instances' clocks may differ slightly
+    private static final long CATCH_UP_MARGIN_MS = 60_000;
+
+    private final BlogPostRepository blogPostRepository;
+    private final BucketListRepository bucketListRepository;
+    private final BucketListItemRepository bucketListItemRepository;
+    private final CurrentUser currentUser;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final Path snapshotDirectory;
+
+    private volatile InvertedIndex blogIndex = new InvertedIndex();
+    private volatile InvertedIndex bucketListIndex = new InvertedIndex();
+    private final AtomicBoolean dirty = new AtomicBoolean();
+    private volatile LocalDateTime lastCatchUp;
+
+    public LocalSearchService(BlogPostRepository blogPostRepository,
+                              BucketListRepository bucketListRepository,
+                              BucketListItemRepository bucketListItemRepository,
+                              CurrentUser currentUser,
+                              TransactionTemplate transactionTemplate,
+                              EntityManager entityManager,
+                              @Value("${app.search.snapshot-dir:./data/search}") String snapshotDirectory) {
+        this.blogPostRepository = blogPostRepository;
+        this.bucketListRepository = bucketListRepository;
+        this.bucketListItemRepository = bucketListItemRepository;
+        this.currentUser = currentUser;
+        this.transactionTemplate = transactionTemplate;
+        this.entityManager = entityManager;
+        this.snapshotDirectory = Paths.get(snapshotDirectory);
+    }
+
+    /**
+     * Search published blog posts
+     */
+    public List<SearchHitResponse> searchBlogPosts(String query, int limit) {
+        return toResponses(blogIndex.search(query, clamp(limit), ownerId -> true));
+    }
+
+    /**
+     * Search the current user's bucket lists
+     */
+    public List<SearchHitResponse> searchBucketLists(String query, int limit) {
+        long userId = currentUser.getUserId();
+        return toResponses(bucketListIndex.search(query, clamp(limit), ownerId -> ownerId == userId));
+    }
+
+    /**
+     * Index a blog post once the current transaction commits; unpublished posts are removed
+     */
+    public void indexBlogPost(BlogPost blogPost) {
+        if (blogPost.getStatus() != BlogStatus.PUBLISHED) {
+            removeBlogPost(blogPost.getId());
+            return;
+        }
+        long id = blogPost.getId();
+        long ownerId = blogPost.getUser().getId();
+        String title = blogPost.getTitle();
+        String tags = blogPost.getTags();
+        String content = blogPost.getContent();
+        TransactionUtil.afterCommit(() -> {
+            blogIndex.put(id, ownerId, title, title, tags, content);
+            dirty.set(true);
+        });
+    }
+
+    /**
+     * Remove a blog post from the index once the current transaction commits
+     */
+    public void removeBlogPost(Long blogId) {
+        TransactionUtil.afterCommit(() -> {
+            blogIndex.remove(blogId);
+            dirty.set(true);
+        });
+    }
+
+    /**
+     * Index a bucket list with its items once the current transaction commits
+     */
+    public void indexBucketList(BucketList bucketList, List<BucketListItem> items) {
+        long id = bucketList.getId();
+        long ownerId = bucketList.getUser().getId();
+        String name = bucketList.getName();
+        String[] fields = bucketListFields(bucketList, items);
+        TransactionUtil.afterCommit(() -> {
+            bucketListIndex.put(id, ownerId, name, fields);
+            dirty.set(true);
+        });
+    }
+
+    /**
+     * Remove a bucket list from the index once the current transaction commits
+     */
+    public void removeBucketList(Long bucketListId) {
+        TransactionUtil.afterCommit(() -> {
+            bucketListIndex.remove(bucketListId);
+            dirty.set(true);
+        });
+    }
+
+    /**
+     * Load the snapshots, or rebuild the indexes from the database if there are none
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void initialize() {
+        InvertedIndex.Snapshot blogs = readSnapshot("blog-posts.idx");
+        InvertedIndex.Snapshot bucketLists = readSnapshot("bucket-lists.idx");
+
+        if (blogs == null || bucketLists == null) {
+            log.info("No search index snapshot found, rebuilding from the database");
+            rebuild();
+            writeSnapshots();
+            return;
+        }
+
+        blogIndex = blogs.index();
+        bucketListIndex = bucketLists.index();
+        LocalDateTime since = LocalDateTime.ofInstant(
+                Instant.ofEpochMilli(Math.min(blogs.savedAt(), bucketLists.savedAt()) - CATCH_UP_MARGIN_MS),
+                ZoneId.systemDefault());
+        removeDeleted();
+        catchUp(since);
+        log.info("Loaded search indexes with {} blog posts and {} bucket lists", blogIndex.size(), bucketListIndex.size());
+    }
+
+    /**
+     * Pick up rows changed by other instances since the last refresh
+     */
+    @Scheduled(fixedDelayString = "${app.search.refresh-interval-ms:60000}")
+    public synchronized void refresh() {
+        LocalDateTime previous = lastCatchUp;
+        if (previous == null) {
+            // Not initialized yet
+            return;
+        }
+        catchUp(previous.minus(CATCH_UP_MARGIN_MS, ChronoUnit.MILLIS));
+    }
+
+    /**
+     * Drop documents whose rows were deleted by other instances. Reads every id, so it
+     * runs far less often than the refresh.
+     */
+    @Scheduled(fixedDelayString = "${app.search.deleted-check-interval-ms:21600000}",
+            initialDelayString = "${app.search.deleted-check-interval-ms:21600000}")
+    public synchronized void removeDeletedRows() {
+        LocalDateTime previous = lastCatchUp;
+        if (previous == null) {
+            return;
+        }
+        // A row committed after its id was read may be removed here, and is indexed
+        // again by the catch-up since its update time is within the margin
+        removeDeleted();
+        catchUp(previous.minus(CATCH_UP_MARGIN_MS, ChronoUnit.MILLIS));
+    }
+
+    /**
+     * Save the indexes if they changed since the last snapshot
+     */
+    @Scheduled(fixedDelayString = "${app.search.snapshot-interval-ms:300000}")
+    public void snapshotIfChanged() {
+        if (dirty.getAndSet(false)) {
+            writeSnapshots();
+        }
+    }
+
+    @PreDestroy
+    public void snapshotOnShutdown() {
+        snapshotIfChanged();
+    }
+
+    private void rebuild() {
+        InvertedIndex blogs = new InvertedIndex();
+        InvertedIndex bucketLists = new InvertedIndex();
+        LocalDateTime startedAt = LocalDateTime.now();
+
+        // Each page is detached once indexed, so the persistence context stays one page large
+        transactionTemplate.executeWithoutResult(status -> {
+            Pageable pageable = PageRequest.of(0, REBUILD_PAGE_SIZE, Sort.by("id"));
+            Page<BlogPost> posts;
+            do {
+                posts = blogPostRepository.findByStatus(BlogStatus.PUBLISHED, pageable);
+                posts.forEach(post -> blogs.put(post.getId(), post.getUser().getId(), post.getTitle(),
+                        post.getTitle(), post.getTags(), post.getContent()));
+                pageable = posts.nextPageable();
+                entityManager.clear();
+            } while (posts.hasNext());
+
+            pageable = PageRequest.of(0, REBUILD_PAGE_SIZE, Sort.by("id"));
+            Page<BucketList> lists;
+            do {
+                lists = bucketListRepository.findAll(pageable);
+                indexBucketLists(bucketLists, lists.getContent());
+                pageable = lists.nextPageable();
+                entityManager.clear();
+            } while (lists.hasNext());
+        });
+
+        blogIndex = blogs;
+        bucketListIndex = bucketLists;
+        lastCatchUp = startedAt;
+        log.info("Rebuilt search indexes with {} blog posts and {} bucket lists", blogs.size(), bucketLists.size());
+    }
+
+    private void catchUp(LocalDateTime since) {
+        lastCatchUp = LocalDateTime.now();
+        transactionTemplate.executeWithoutResult(status -> {
+            List<BlogPost> posts = blogPostRepository.findByUpdatedAtAfter(since);
+            for (BlogPost post : posts) {
+                if (post.getStatus() == BlogStatus.PUBLISHED) {
+                    blogIndex.put(post.getId(), post.getUser().getId(), post.getTitle(),
+                            post.getTitle(), post.getTags(), post.getContent());
+                } else {
+                    blogIndex.remove(post.getId());
+                }
+            }
+            List<BucketList> lists = bucketListRepository.findByUpdatedAtAfter(since);
+            indexBucketLists(bucketListIndex, lists);
+            if (!posts.isEmpty() || !lists.isEmpty()) {
+                dirty.set(true);
+            }
+        });
+    }
+
+    private void removeDeleted() {
+        Set<Long> blogIds = new HashSet<>(blogPostRepository.findIdsByStatus(BlogStatus.PUBLISHED));
+        Set<Long> bucketListIds = new HashSet<>(bucketListRepository.findAllIds());
+        int removed = blogIndex.retainIf(blogIds::contains) + bucketListIndex.retainIf(bucketListIds::contains);
+        if (removed > 0) {
+            dirty.set(true);
+            log.info("Removed {} deleted rows from the search indexes", removed);
+        }
+    }
+
+    private void indexBucketLists(InvertedIndex index, List<BucketList> lists) {
+        if (lists.isEmpty()) {
+            return;
+        }
+        List<Long> ids = lists.stream().map(BucketList::getId).collect(Collectors.toList());
+        Map<Long, List<BucketListItem>> itemsByList = bucketListItemRepository.findByBucketListIdIn(ids).stream()
+                .collect(Collectors.groupingBy(item -> item.getBucketList().getId()));
+        for (BucketList list : lists) {
+            index.put(list.getId(), list.getUser().getId(), list.getName(),
+                    bucketListFields(list, itemsByList.getOrDefault(list.getId(), List.of())));
+        }
+    }
+
+    private static String[] bucketListFields(BucketList bucketList, List<BucketListItem> items) {
+        List<String> fields = new ArrayList<>();
+        fields.add(bucketList.getName());
+        fields.add(bucketList.getDescription());
+        fields.add(bucketList.getTags());
+        if (items != null) {
+            for (BucketListItem item : items) {
+                fields.add(item.getName());
+                fields.add(item.getDescription());
+            }
+        }
+        return fields.toArray(new String[0]);
+    }
+
+    private InvertedIndex.Snapshot readSnapshot(String fileName) {
+        Path file = snapshotDirectory.resolve(fileName);
+        if (!Files.exists(file)) {
+            return null;
+        }
+        try {
+            return InvertedIndex.readSnapshot(file);
+        } catch (IOException e) {
+            log.warn("Ignoring unreadable search index snapshot {}: {}", file, e.getMessage());
+            return null;
+        }
+    }
+
+    private void writeSnapshots() {
+        long savedAt = System.currentTimeMillis();
+        try {
+            Files.createDirectories(snapshotDirectory);
+            blogIndex.writeSnapshot(snapshotDirectory.resolve("blog-posts.idx"), savedAt);
+            bucketListIndex.writeSnapshot(snapshotDirectory.resolve("bucket-lists.idx"), savedAt);
+            log.debug("Saved search index snapshots to {}", snapshotDirectory);
+        } catch (IOException e) {
+            dirty.set(true);
+            log.error("Error saving search index snapshots: {}", e.getMessage());
+        }
+    }
+
+    private static int clamp(int limit) {
+        return Math.min(Math.max(limit, 1), MAX_RESULTS);
+    }
+
+    private static List<SearchHitResponse> toResponses(List<InvertedIndex.Hit> hits) {
+        return hits.stream()
+                .map(hit -> new SearchHitResponse(hit.id(), hit.title(), hit.score()))
+                .collect(Collectors.toList());
+    }
+}
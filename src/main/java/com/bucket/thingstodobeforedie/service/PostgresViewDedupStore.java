@@ -0,0 +1,180 @@
+package com.bucket.thingstodobeforedie.service;
+
+import com.bucket.thingstodobeforedie.util.HashUtil;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * View de-duplication shared by all application nodes through Postgres.
+ * <p>
+ * Views are queued in memory and written in batches into an unlogged table keyed by the
+ * hour of the view and partitioned into a ring of three daily slots. A view is only inserted if the viewer has no
+ * row for the post in the current hour or the 24 before it, and the same statement adds
+ * the rows that were actually inserted to the blog post view counts. A viewer is thus
+ * counted once per rolling 24 hours, like the in-memory store, no matter which node
+ * served them, and the request thread never waits on the database. A local
+ * {@link ViewTrackingService} acts as a near cache to avoid queueing repeat views seen
+ * by this node. Old days are expired by truncating tomorrow's slot, which holds the day
+ * before yesterday.
+ * <p>
+ * The table and its partitions are created by the V24 migration.
+ */
+@Component
+@ConditionalOnProperty(name = "app.views.dedup.store", havingValue = "postgres")
+@Slf4j
+public class PostgresViewDedupStore implements ViewDedupStore {
+
+    private static final String TABLE = "blog_view_dedup";
+
+    private static final int DAY_SLOTS = 3;
+
+    // Same slot formula as the V24 migration
+    private static final String DAY_SLOT_SQL = "((%s - DATE '2000-01-01') %% " + DAY_SLOTS + ")";
+
+    // Two nodes writing the same viewer in the same hour collide on the primary key;
+    // earlier hours are found by the NOT EXISTS range scan on the same key
+    private static final String FLUSH_SQL =
+            "WITH incoming AS (" +
+            "  SELECT DISTINCT * FROM unnest(?::bigint[], ?::bigint[]) AS v(blog_id, viewer_hash)" +
+            "), inserted AS (" +
+            "  INSERT INTO " + TABLE + " (blog_id, viewer_hash, view_hour, day_slot) " +
+            "  SELECT i.blog_id, i.viewer_hash, date_trunc('hour', LOCALTIMESTAMP), " +
+            String.format(DAY_SLOT_SQL, "CURRENT_DATE") + " FROM incoming i " +
+            "  WHERE NOT EXISTS (SELECT 1 FROM " + TABLE + " d " +
+            "    WHERE d.blog_id = i.blog_id AND d.viewer_hash = i.viewer_hash " +
+            "    AND d.view_hour >= date_trunc('hour', LOCALTIMESTAMP) - INTERVAL '24 hours') " +
+            "  ON CONFLICT DO NOTHING " +
+            "  RETURNING blog_id" +
+            ") " +
+            "UPDATE blog_posts b SET views = b.views + c.new_views " +
+            "FROM (SELECT blog_id, COUNT(*) AS new_views FROM inserted GROUP BY blog_id) c " +
+            "WHERE b.id = c.blog_id";
+
+    private static final String TOMORROW_SLOT_SQL =
+            "SELECT " + String.format(DAY_SLOT_SQL, "(CURRENT_DATE + 1)");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ViewTrackingService nearCache;
+    private final BlogViewCountBuffer blogViewCountBuffer;
+    private final BlockingQueue<long[]> pendingViews;
+    private final Timer flushTimer;
+    private final Counter droppedViews;
+
+    public PostgresViewDedupStore(JdbcTemplate jdbcTemplate,
+                                  ViewTrackingService viewTrackingService,
+                                  BlogViewCountBuffer blogViewCountBuffer,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${app.views.dedup.queue-capacity:100000}") int queueCapacity) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.nearCache = viewTrackingService;
+        this.blogViewCountBuffer = blogViewCountBuffer;
+        this.pendingViews = new ArrayBlockingQueue<>(queueCapacity);
+        this.flushTimer = Timer.builder("blog.views.dedup.flush")
+                .description("Time taken to write queued views to the shared de-duplication table")
+                .register(meterRegistry);
+        this.droppedViews = Counter.builder("blog.views.dedup.dropped")
+                .description("Views discarded because the de-duplication queue was full")
+                .register(meterRegistry);
+        Gauge.builder("blog.views.dedup.pending", pendingViews, BlockingQueue::size)
+                .description("Views waiting to be written to the shared de-duplication table")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public boolean registerView(Long blogId, String viewerIdentifier) {
+        // Anonymous views cannot be de-duplicated and are always counted
+        if (viewerIdentifier == null || viewerIdentifier.isEmpty()) {
+            blogViewCountBuffer.increment(blogId);
+            return true;
+        }
+        if (nearCache.hasRecentView(blogId, viewerIdentifier)) {
+            return false;
+        }
+
+        // Views new to this node are reported as counted; another node may have seen them in the last 24 hours
+        if (!pendingViews.offer(new long[]{blogId, HashUtil.hash64(viewerIdentifier)})) {
+            // Not remembered either, so the viewer's next view can still be counted
+            droppedViews.increment();
+            return false;
+        }
+        nearCache.recordView(blogId, viewerIdentifier);
+        return true;
+    }
+
+    /**
+     * Write queued views in one statement; only first views in 24 hours are counted
+     */
+    @Scheduled(fixedDelayString = "${app.blog.views.flush-interval-ms:5000}")
+    public synchronized void flush() {
+        List<long[]> batch = new ArrayList<>();
+        pendingViews.drainTo(batch);
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        Long[] blogIds = new Long[batch.size()];
+        Long[] viewerHashes = new Long[batch.size()];
+        for (int i = 0; i < batch.size(); i++) {
+            blogIds[i] = batch.get(i)[0];
+            viewerHashes[i] = batch.get(i)[1];
+        }
+
+        Timer.Sample sample = Timer.start();
+        try {
+            jdbcTemplate.update(connection -> {
+                PreparedStatement statement = connection.prepareStatement(FLUSH_SQL);
+                statement.setArray(1, connection.createArrayOf("bigint", blogIds));
+                statement.setArray(2, connection.createArrayOf("bigint", viewerHashes));
+                return statement;
+            });
+            log.debug("Flushed {} queued views", batch.size());
+        } catch (DataAccessException e) {
+            log.error("Error flushing queued views, will retry: {}", e.getMessage());
+            for (long[] view : batch) {
+                if (!pendingViews.offer(view)) {
+                    droppedViews.increment();
+                }
+            }
+        } finally {
+            sample.stop(flushTimer);
+        }
+    }
+
+    /**
+     * Empty tomorrow's slot, which still holds the views of the day before yesterday.
+     * Runs hourly so a missed run is made up long before midnight; an empty slot is left alone.
+     */
+    @Scheduled(cron = "${app.views.dedup.maintenance-cron:0 5 * * * *}")
+    public void expireOldViews() {
+        Integer slot = jdbcTemplate.queryForObject(TOMORROW_SLOT_SQL, Integer.class);
+        String partition = TABLE + "_" + slot;
+        Boolean empty = jdbcTemplate.queryForObject(
+                "SELECT NOT EXISTS (SELECT 1 FROM " + partition + ")", Boolean.class);
+        if (Boolean.FALSE.equals(empty)) {
+            jdbcTemplate.execute("TRUNCATE " + partition);
+            log.info("Expired views in de-duplication partition {}", partition);
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        log.info("Flushing queued views before shutdown");
+        flush();
+    }
+}
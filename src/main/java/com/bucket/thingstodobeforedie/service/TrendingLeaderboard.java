@@ -0,0 +1,126 @@
+package com.bucket.thingstodobeforedie.service;
+
+import com.bucket.thingstodobeforedie.entity.BlogPost;
+import com.bucket.thingstodobeforedie.entity.BlogStatus;
+import com.bucket.thingstodobeforedie.repository.BlogPostRepository;
+import com.bucket.thingstodobeforedie.repository.CommentRepository;
+import com.bucket.thingstodobeforedie.repository.LikeRepository;
+import com.bucket.thingstodobeforedie.util.TopKTracker;
+import com.bucket.thingstodobeforedie.util.TransactionUtil;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * In-memory leaderboard of the blog posts with the most recent engagement.
+ * <p>
+ * {@link BlogService} reports counted views, new likes and new comments, weighted like the
+ * trending score. Every half-life all counts are halved, so the ranking follows recent
+ * activity. Reading the leaderboard never touches the database. On startup it is seeded
+ * from the stored trending scores and the likes and comments of the last half-life.
+ * Unlikes and deleted comments are not subtracted; they age out with the rest.
+ */
+@Service
+@Slf4j
+public class TrendingLeaderboard {
+
+    public static final int MAX_SIZE = 50;
+
+    // Track more posts than are served so the tail of the board is accurate
+    private static final int TRACKED = MAX_SIZE * 2;
+    private static final int SKETCH_DEPTH = 4;
+    private static final int SKETCH_WIDTH = 4096;
+
+    private final BlogPostRepository blogPostRepository;
+    private final LikeRepository likeRepository;
+    private final CommentRepository commentRepository;
+    private final TopKTracker tracker = new TopKTracker(TRACKED, SKETCH_DEPTH, SKETCH_WIDTH);
+    private final long likeWeight;
+    private final long commentWeight;
+    private final long halfLifeMillis;
+
+    public TrendingLeaderboard(BlogPostRepository blogPostRepository,
+                               LikeRepository likeRepository,
+                               CommentRepository commentRepository,
+                               MeterRegistry meterRegistry,
+                               @Value("${app.blog.trending.like-weight:3}") long likeWeight,
+                               @Value("${app.blog.trending.comment-weight:5}") long commentWeight,
+                               @Value("${app.blog.trending.leaderboard.half-life-ms:3600000}") long halfLifeMillis) {
+        this.blogPostRepository = blogPostRepository;
+        this.likeRepository = likeRepository;
+        this.commentRepository = commentRepository;
+        this.likeWeight = likeWeight;
+        this.commentWeight = commentWeight;
+        this.halfLifeMillis = halfLifeMillis;
+        Gauge.builder("blog.trending.leaderboard.size", tracker, TopKTracker::size)
+                .description("Blog posts tracked by the trending leaderboard")
+                .register(meterRegistry);
+    }
+
+    /**
+     * IDs of the top blog posts, highest first
+     */
+    public List<Long> top(int limit) {
+        return tracker.top(Math.min(limit, MAX_SIZE));
+    }
+
+    public void recordView(Long blogId) {
+        tracker.add(blogId, 1);
+    }
+
+    /**
+     * Count a like once the current transaction commits
+     */
+    public void recordLike(Long blogId) {
+        TransactionUtil.afterCommit(() -> tracker.add(blogId, likeWeight));
+    }
+
+    /**
+     * Count a comment once the current transaction commits
+     */
+    public void recordComment(Long blogId) {
+        TransactionUtil.afterCommit(() -> tracker.add(blogId, commentWeight));
+    }
+
+    /**
+     * Drop a deleted or unpublished blog post once the current transaction commits
+     */
+    public void remove(Long blogId) {
+        TransactionUtil.afterCommit(() -> tracker.remove(blogId));
+    }
+
+    @Scheduled(fixedDelayString = "${app.blog.trending.leaderboard.half-life-ms:3600000}",
+               initialDelayString = "${app.blog.trending.leaderboard.half-life-ms:3600000}")
+    public void decay() {
+        tracker.halve();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        // Stored scores order the board until live events take over
+        List<BlogPost> ranked = blogPostRepository
+                .findTrendingBlogs(BlogStatus.PUBLISHED, PageRequest.of(0, TRACKED))
+                .getContent();
+        for (int rank = 0; rank < ranked.size(); rank++) {
+            tracker.add(ranked.get(rank).getId(), ranked.size() - rank);
+        }
+
+        LocalDateTime since = LocalDateTime.now().minusNanos(halfLifeMillis * 1_000_000);
+        for (Object[] row : likeRepository.countRecentLikesByBlogPost(BlogStatus.PUBLISHED, since)) {
+            tracker.add((Long) row[0], likeWeight * (Long) row[1]);
+        }
+        for (Object[] row : commentRepository.countRecentCommentsByBlogPost(BlogStatus.PUBLISHED, since)) {
+            tracker.add((Long) row[0], commentWeight * (Long) row[1]);
+        }
+        log.info("Seeded trending leaderboard with {} blog posts", tracker.size());
+    }
+}
@@ -3,12 +3,11 @@ package com.bucket.thingstodobeforedie.service;
 import com.bucket.thingstodobeforedie.dto.*;
 import com.bucket.thingstodobeforedie.entity.ActivityIcon;
 import com.bucket.thingstodobeforedie.entity.ActivityType;
-import com.bucket.thingstodobeforedie.entity.BucketStatus;
 import com.bucket.thingstodobeforedie.entity.User;
+import com.bucket.thingstodobeforedie.entity.UserStats;
 import com.bucket.thingstodobeforedie.exception.ResourceNotFoundException;
-import com.bucket.thingstodobeforedie.repository.BlogPostRepository;
-import com.bucket.thingstodobeforedie.repository.BucketListRepository;
 import com.bucket.thingstodobeforedie.repository.UserRepository;
+import com.bucket.thingstodobeforedie.security.CurrentUser;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -27,10 +26,10 @@ import java.util.*;
 public class UserService {
 
     private final UserRepository userRepository;
-    private final BlogPostRepository blogPostRepository;
-    private final BucketListRepository bucketListRepository;
     private final ActivityService activityService;
     private final S3Service s3Service;
+    private final CurrentUser currentUserProvider;
+    private final UserStatsService userStatsService;
 
     /**
      * Get current authenticated user
@@ -59,10 +58,11 @@ public class UserService {
     @Transactional(readOnly = true)
     private UserProfileResponse getEnhancedUserProfile(User user) {
 
-        int totalBucketLists = (int) bucketListRepository.countByUserId(user.getId());
-        int completedBucketLists = (int) bucketListRepository.countByUserIdAndStatus(user.getId(), BucketStatus.COMPLETED);
-        int activeBucketLists = (int) bucketListRepository.countByUserIdAndStatus(user.getId(), BucketStatus.ACTIVE);
-        int totalBlogPosts = (int) blogPostRepository.countByUserId(user.getId());
+        UserStats stats = userStatsService.getStats(user.getId());
+        int totalBucketLists = (int) stats.getBucketLists();
+        int completedBucketLists = (int) stats.getCompletedBucketLists();
+        int activeBucketLists = (int) stats.getActiveBucketLists();
+        int totalBlogPosts = (int) stats.getBlogPosts();
 
         List<ActivityResponse> recentActivities = activityService.getRecentUserActivities(user, 5);
 
@@ -126,6 +126,7 @@ public class UserService {
             // Step 4: Update DB with new image URL
             currentUser.setProfileImage(newImageUrl);
             userRepository.save(currentUser);
+            currentUserProvider.evict(currentUser.getUsername());
 
             // Track profile image update
             Map<String, Object> metadata = new HashMap<>();
@@ -246,6 +247,7 @@ public class UserService {
 
         // Save updates
         User updatedUser = userRepository.save(currentUser);
+        currentUserProvider.evict(updatedUser.getUsername());
 
         // Return the updated profile
         return getEnhancedUserProfile(updatedUser);
@@ -0,0 +1,76 @@
+package com.bucket.thingstodobeforedie.service;
+
+import com.bucket.thingstodobeforedie.entity.BucketStatus;
+import com.bucket.thingstodobeforedie.entity.UserStats;
+import com.bucket.thingstodobeforedie.repository.UserStatsRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Maintains the per-user {@link UserStats} rollup read by profiles and the dashboard.
+ * The write methods apply atomic deltas and must run inside the caller's transaction,
+ * so the stats commit or roll back together with the change they count.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class UserStatsService {
+
+    private final UserStatsRepository userStatsRepository;
+
+    /**
+     * Get the stats of a user with a single primary key lookup
+     */
+    public UserStats getStats(Long userId) {
+        return userStatsRepository.findById(userId).orElseGet(() -> UserStats.empty(userId));
+    }
+
+    public void bucketListCreated(Long userId, BucketStatus status) {
+        userStatsRepository.adjust(userId, 1, completed(status), active(status), 0);
+    }
+
+    public void bucketListDeleted(Long userId, BucketStatus status) {
+        userStatsRepository.adjust(userId, -1, -completed(status), -active(status), 0);
+    }
+
+    public void bucketListStatusChanged(Long userId, BucketStatus from, BucketStatus to) {
+        if (from == to) {
+            return;
+        }
+        userStatsRepository.adjust(userId, 0, completed(to) - completed(from), active(to) - active(from), 0);
+    }
+
+    public void blogPostCreated(Long userId) {
+        userStatsRepository.adjust(userId, 0, 0, 0, 1);
+    }
+
+    public void blogPostDeleted(Long userId) {
+        userStatsRepository.adjust(userId, 0, 0, 0, -1);
+    }
+
+    /**
+     * Repair stats that drifted from the bucket list and blog post tables
+     */
+    @Scheduled(initialDelayString = "${app.user-stats.reconcile-initial-delay-ms:60000}",
+               fixedDelayString = "${app.user-stats.reconcile-interval-ms:3600000}")
+    @Transactional
+    public void reconcile() {
+        int fixed = userStatsRepository.reconcile();
+        if (fixed > 0) {
+            log.warn("Repaired stats of {} users", fixed);
+        } else {
+            log.debug("User stats are consistent");
+        }
+    }
+
+    private static long completed(BucketStatus status) {
+        return status == BucketStatus.COMPLETED ? 1 : 0;
+    }
+
+    private static long active(BucketStatus status) {
+        return status == BucketStatus.ACTIVE ? 1 : 0;
+    }
+}
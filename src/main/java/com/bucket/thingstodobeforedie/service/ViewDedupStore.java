@@ -0,0 +1,19 @@
+package com.bucket.thingstodobeforedie.service;
+
+/**
+ * Decides whether a blog post view is unique and counts it if so.
+ * The in-memory store is the default; set {@code app.views.dedup.store=postgres}
+ * to share de-duplication between application nodes.
+ */
+public interface ViewDedupStore {
+
+    /**
+     * Register a view of a published blog post, counting it once per viewer
+     * within the de-duplication window
+     *
+     * @param blogId the ID of the blog post
+     * @param viewerIdentifier unique identifier for the viewer
+     * @return true if the view was counted, false if it was a repeat view
+     */
+    boolean registerView(Long blogId, String viewerIdentifier);
+}
@@ -1,27 +1,71 @@
 package com.bucket.thingstodobeforedie.service;
 
+import com.bucket.thingstodobeforedie.util.ChainedBloomFilter;
+import com.bucket.thingstodobeforedie.util.ConcurrentLongHashSet;
+import com.bucket.thingstodobeforedie.util.HashUtil;
+import com.bucket.thingstodobeforedie.util.LongSet;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import java.time.LocalDateTime;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 /**
  * Service for tracking and preventing duplicate views on blog posts.
- * Uses an in-memory cache with expiration for simplicity, but could be replaced
- * with a distributed cache like Redis for production environments.
+ * Views are stored as 64-bit hashes of (blog, viewer) in one bucket per hour, so
+ * expiring an hour is an O(1) bucket swap and no request thread ever scans the
+ * records. The total number of records is capped; when the cap is reached the
+ * oldest hour is dropped early. The current hour is never dropped.
+ * <p>
+ * In {@link Mode#EXACT} mode each hour is an exact hash set; once the current hour alone
+ * reaches the cap, further views are not recorded. In {@link Mode#BLOOM} mode each hour is
+ * a chain of Bloom filters sized for the configured false positive rate, trading a small
+ * chance of missing a unique view for far less heap. A busy hour chains further filters
+ * as long as older hours can make room under the memory ceiling, and otherwise keeps
+ * filling its last one.
  */
 @Service
+@Slf4j
 public class ViewTrackingService {
 
-    // Map to store view records: key = blog:viewerId, value = timestamp
-    private final Map<String, LocalDateTime> viewRecords = new ConcurrentHashMap<>();
-    
-    // Default TTL for view records (24 hours)
+    // Default TTL for view records (24 hours, at hour granularity)
     private static final long VIEW_TTL_HOURS = 24;
-    
+
+    // One bucket per hour of the TTL plus the current hour
+    private static final int BUCKET_COUNT = (int) VIEW_TTL_HOURS + 1;
+
+    private static final int CONCURRENCY_LEVEL = 16;
+
+    private final AtomicReferenceArray<HourBucket> buckets = new AtomicReferenceArray<>(BUCKET_COUNT);
+
+    public enum Mode {
+        EXACT,
+        BLOOM
+    }
+
+    private final long maxEntries;
+    private final Mode mode;
+    private final double falsePositiveProbability;
+    private final long maxMemoryBytes;
+
+    public ViewTrackingService(@Value("${app.views.tracking.max-entries:1000000}") long maxEntries,
+                               @Value("${app.views.tracking.mode:EXACT}") Mode mode,
+                               @Value("${app.views.tracking.false-positive-rate:0.01}") double falsePositiveRate,
+                               @Value("${app.views.tracking.max-memory-bytes:67108864}") long maxMemoryBytes) {
+        this.maxEntries = maxEntries;
+        this.mode = mode;
+        // A lookup checks every live bucket, so each bucket gets its share of the overall rate
+        this.falsePositiveProbability = falsePositiveRate / BUCKET_COUNT;
+        this.maxMemoryBytes = maxMemoryBytes;
+        log.info("View tracking in {} mode, capped at {} records", mode, maxEntries);
+    }
+
     /**
      * Check if a viewer has recently viewed a blog post
-     * 
+     *
      * @param blogId the ID of the blog post
      * @param viewerIdentifier unique identifier for the viewer
      * @return true if the viewer has viewed this post within the TTL period, false otherwise
@@ -30,22 +74,22 @@ public class ViewTrackingService {
         if (viewerIdentifier == null || viewerIdentifier.isEmpty()) {
             return false;
         }
-        
-        String viewKey = createViewKey(blogId, viewerIdentifier);
-        LocalDateTime viewTime = viewRecords.get(viewKey);
-        
-        // Clean up expired records periodically (simplified approach)
-        if (Math.random() < 0.01) { // 1% chance to clean up on each check
-            cleanupExpiredRecords();
+
+        long viewKey = createViewKey(blogId, viewerIdentifier);
+        long currentHour = currentHour();
+
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            HourBucket bucket = buckets.get(i);
+            if (bucket != null && isLive(bucket, currentHour) && bucket.keys.contains(viewKey)) {
+                return true;
+            }
         }
-        
-        // If record exists and hasn't expired
-        return viewTime != null && viewTime.plusHours(VIEW_TTL_HOURS).isAfter(LocalDateTime.now());
+        return false;
     }
-    
+
     /**
      * Record a new view for a blog post
-     * 
+     *
      * @param blogId the ID of the blog post
      * @param viewerIdentifier unique identifier for the viewer
      */
@@ -53,23 +97,165 @@ public class ViewTrackingService {
         if (viewerIdentifier == null || viewerIdentifier.isEmpty()) {
             return;
         }
-        
-        String viewKey = createViewKey(blogId, viewerIdentifier);
-        viewRecords.put(viewKey, LocalDateTime.now());
+
+        long currentHour = currentHour();
+        HourBucket bucket = currentBucket(currentHour);
+        if (size() >= maxEntries && !evictOldestBucket(currentHour) && mode == Mode.EXACT) {
+            // Only the current hour is left and it is full
+            return;
+        }
+        if (bucket.keys.add(createViewKey(blogId, viewerIdentifier))) {
+            bucket.count.incrementAndGet();
+            if (bucket.keys instanceof ChainedBloomFilter filter && filter.isFull()) {
+                growFilter(filter, currentHour);
+            }
+        }
+    }
+
+    /**
+     * Number of view records currently held
+     */
+    public long size() {
+        long size = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            HourBucket bucket = buckets.get(i);
+            if (bucket != null) {
+                size += bucket.count.get();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Drop buckets whose hour has fallen out of the TTL window
+     */
+    @Scheduled(fixedRate = 60, timeUnit = TimeUnit.SECONDS)
+    public void rotateBuckets() {
+        long currentHour = currentHour();
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            HourBucket bucket = buckets.get(i);
+            if (bucket != null && !isLive(bucket, currentHour)) {
+                buckets.compareAndSet(i, bucket, null);
+            }
+        }
+    }
+
+    /**
+     * Get the bucket for the current hour, replacing the expired bucket in its slot if needed
+     */
+    private HourBucket currentBucket(long currentHour) {
+        int slot = (int) (currentHour % BUCKET_COUNT);
+        while (true) {
+            HourBucket bucket = buckets.get(slot);
+            if (bucket != null && bucket.hour == currentHour) {
+                return bucket;
+            }
+            HourBucket fresh = new HourBucket(currentHour, createKeySet(currentHour));
+            if (buckets.compareAndSet(slot, bucket, fresh)) {
+                return fresh;
+            }
+        }
+    }
+
+    /**
+     * Drop the oldest bucket before the current hour to get back under the caps
+     *
+     * @return false if there is no older bucket left to drop
+     */
+    private boolean evictOldestBucket(long currentHour) {
+        while (true) {
+            int oldestSlot = -1;
+            HourBucket oldest = null;
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                HourBucket bucket = buckets.get(i);
+                if (bucket != null && bucket.hour < currentHour && (oldest == null || bucket.hour < oldest.hour)) {
+                    oldest = bucket;
+                    oldestSlot = i;
+                }
+            }
+            if (oldest == null) {
+                return false;
+            }
+            if (buckets.compareAndSet(oldestSlot, oldest, null)) {
+                log.warn("View tracking reached its limit, dropped views from {} hour(s) ago", currentHour - oldest.hour);
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Chain another filter to the current hour if older hours can make room for it under the
+     * memory ceiling; otherwise the last filter keeps filling
+     */
+    private synchronized void growFilter(ChainedBloomFilter filter, long currentHour) {
+        if (!filter.isFull()) {
+            return;
+        }
+        if (makeRoom(filter.maxBytesPerFilter(), currentHour)) {
+            filter.grow();
+        }
     }
-    
+
     /**
-     * Create a unique key for storing view records
+     * Drop older hours until the given number of bytes fits under the memory ceiling
+     *
+     * @return false if it does not fit even with only the current hour left
      */
-    private String createViewKey(Long blogId, String viewerIdentifier) {
-        return "blog:" + blogId + ":" + viewerIdentifier;
+    private boolean makeRoom(long bytes, long currentHour) {
+        while (bloomMemoryInUse() + bytes > maxMemoryBytes) {
+            if (!evictOldestBucket(currentHour)) {
+                return false;
+            }
+        }
+        return true;
     }
-    
+
+    private long bloomMemoryInUse() {
+        long bytes = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            HourBucket bucket = buckets.get(i);
+            if (bucket != null && bucket.keys instanceof ChainedBloomFilter filter) {
+                bytes += filter.sizeInBytes();
+            }
+        }
+        return bytes;
+    }
+
+    private LongSet createKeySet(long currentHour) {
+        long expectedPerBucket = maxEntries / BUCKET_COUNT;
+        if (mode == Mode.BLOOM) {
+            long maxBytesPerFilter = maxMemoryBytes / BUCKET_COUNT;
+            // The new hour has no bucket yet, so every bucket held is older and may be dropped
+            makeRoom(maxBytesPerFilter, currentHour);
+            return new ChainedBloomFilter(expectedPerBucket, falsePositiveProbability, maxBytesPerFilter);
+        }
+        return new ConcurrentLongHashSet((int) expectedPerBucket, CONCURRENCY_LEVEL);
+    }
+
+    private static boolean isLive(HourBucket bucket, long currentHour) {
+        return currentHour - bucket.hour <= VIEW_TTL_HOURS;
+    }
+
+    private static long currentHour() {
+        return TimeUnit.MILLISECONDS.toHours(System.currentTimeMillis());
+    }
+
     /**
-     * Remove expired view records from the cache
+     * Create a 64-bit key for storing view records
      */
-    private void cleanupExpiredRecords() {
-        LocalDateTime expirationThreshold = LocalDateTime.now().minusHours(VIEW_TTL_HOURS);
-        viewRecords.entrySet().removeIf(entry -> entry.getValue().isBefore(expirationThreshold));
+    private static long createViewKey(Long blogId, String viewerIdentifier) {
+        return HashUtil.mix64(HashUtil.hash64(viewerIdentifier) ^ blogId * 0x9E3779B97F4A7C15L);
+    }
+
+    private static final class HourBucket {
+
+        private final long hour;
+        private final LongSet keys;
+        private final AtomicInteger count = new AtomicInteger();
+
+        HourBucket(long hour, LongSet keys) {
+            this.hour = hour;
+            this.keys = keys;
+        }
     }
-} 
\ No newline at end of file
+}
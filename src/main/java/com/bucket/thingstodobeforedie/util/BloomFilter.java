@@ -0,0 +1,85 @@
+package com.bucket.thingstodobeforedie.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free Bloom filter over 64-bit keys.
+ * Uses double hashing on the two halves of the key, so keys should already be well mixed.
+ * {@link #contains(long)} never returns a false negative; false positives occur at roughly
+ * the rate the filter was sized for, as long as no more than the expected number of keys is added.
+ */
+public class BloomFilter implements LongSet {
+
+    private final AtomicLongArray bits;
+    private final long bitCount;
+    private final int hashCount;
+
+    public BloomFilter(long bitCount, int hashCount) {
+        long words = Math.max(1, (bitCount + 63) / 64);
+        if (words > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Bloom filter too large: " + bitCount + " bits");
+        }
+        this.bits = new AtomicLongArray((int) words);
+        this.bitCount = words * 64;
+        this.hashCount = Math.max(1, hashCount);
+    }
+
+    /**
+     * Size a filter for the expected number of keys and false positive probability,
+     * never using more than the given number of bytes
+     */
+    public static BloomFilter create(long expectedInsertions, double falsePositiveProbability, long maxBytes) {
+        long n = Math.max(1, expectedInsertions);
+        long optimalBits = (long) Math.ceil(-n * Math.log(falsePositiveProbability) / (Math.log(2) * Math.log(2)));
+        long bitCount = Math.max(64, Math.min(optimalBits, maxBytes * 8));
+        int hashCount = (int) Math.round((double) bitCount / n * Math.log(2));
+        return new BloomFilter(bitCount, hashCount);
+    }
+
+    @Override
+    public boolean add(long value) {
+        int h1 = (int) value;
+        // Odd, so a zero upper half cannot collapse every probe onto the same bit
+        int h2 = (int) (value >>> 32) | 1;
+        boolean changed = false;
+        for (int i = 0; i < hashCount; i++) {
+            long index = Math.floorMod(h1 + (long) i * h2, bitCount);
+            changed |= setBit(index);
+        }
+        return changed;
+    }
+
+    @Override
+    public boolean contains(long value) {
+        int h1 = (int) value;
+        int h2 = (int) (value >>> 32) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long index = Math.floorMod(h1 + (long) i * h2, bitCount);
+            if ((bits.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Memory used by the bit array in bytes
+     */
+    public long sizeInBytes() {
+        return bitCount / 8;
+    }
+
+    private boolean setBit(long index) {
+        int word = (int) (index >>> 6);
+        long mask = 1L << index;
+        while (true) {
+            long current = bits.get(word);
+            if ((current & mask) != 0) {
+                return false;
+            }
+            if (bits.compareAndSet(word, current, current | mask)) {
+                return true;
+            }
+        }
+    }
+}
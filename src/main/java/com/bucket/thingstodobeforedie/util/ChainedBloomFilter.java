@@ -0,0 +1,99 @@
+package com.bucket.thingstodobeforedie.util;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bloom filter that keeps its false positive rate when more keys arrive than expected,
+ * by chaining a new filter once the last one holds its expected number of keys.
+ * Keys are only added to the last filter. Each filter gets half the false positive
+ * probability of the one before, so the chain as a whole stays under the configured rate.
+ * The owner decides when to {@link #grow()}; until it does, the last filter keeps filling
+ * and its rate climbs as with a plain {@link BloomFilter}.
+ */
+public class ChainedBloomFilter implements LongSet {
+
+    private final long insertionsPerFilter;
+    private final double falsePositiveProbability;
+    private final long maxBytesPerFilter;
+
+    private volatile BloomFilter[] filters;
+    // Keys added to the last filter, approximate while it is being replaced
+    private final AtomicLong lastFilterInsertions = new AtomicLong();
+
+    public ChainedBloomFilter(long insertionsPerFilter, double falsePositiveProbability, long maxBytesPerFilter) {
+        this.insertionsPerFilter = Math.max(1, insertionsPerFilter);
+        this.falsePositiveProbability = falsePositiveProbability;
+        this.maxBytesPerFilter = maxBytesPerFilter;
+        this.filters = new BloomFilter[]{createFilter(0)};
+    }
+
+    @Override
+    public boolean add(long value) {
+        BloomFilter[] current = filters;
+        for (int i = 0; i < current.length - 1; i++) {
+            if (current[i].contains(value)) {
+                return false;
+            }
+        }
+        if (current[current.length - 1].add(value)) {
+            lastFilterInsertions.incrementAndGet();
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public boolean contains(long value) {
+        for (BloomFilter filter : filters) {
+            if (filter.contains(value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return true if the last filter holds its expected number of keys
+     */
+    public boolean isFull() {
+        return lastFilterInsertions.get() >= insertionsPerFilter;
+    }
+
+    /**
+     * Start a new filter if the last one is full
+     */
+    public synchronized void grow() {
+        if (!isFull()) {
+            return;
+        }
+        BloomFilter[] current = filters;
+        BloomFilter[] grown = Arrays.copyOf(current, current.length + 1);
+        grown[current.length] = createFilter(current.length);
+        filters = grown;
+        lastFilterInsertions.set(0);
+    }
+
+    /**
+     * Memory used by the bit arrays of all filters in bytes
+     */
+    public long sizeInBytes() {
+        long size = 0;
+        for (BloomFilter filter : filters) {
+            size += filter.sizeInBytes();
+        }
+        return size;
+    }
+
+    /**
+     * Upper bound of the memory a further filter takes in bytes
+     */
+    public long maxBytesPerFilter() {
+        return maxBytesPerFilter;
+    }
+
+    private BloomFilter createFilter(int position) {
+        double probability = falsePositiveProbability / Math.pow(2, position + 1);
+        return BloomFilter.create(insertionsPerFilter, probability, maxBytesPerFilter);
+    }
+}
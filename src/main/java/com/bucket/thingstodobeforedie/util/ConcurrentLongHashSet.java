@@ -0,0 +1,116 @@
+package com.bucket.thingstodobeforedie.util;
+
+/**
+ * Thread-safe set of primitive {@code long} values.
+ * Values live in open-addressing tables split into independently locked segments,
+ * so an entry costs about 16 bytes instead of a boxed {@code Long} plus a map node.
+ * The value 0 is used to mark empty slots and is stored as 1 instead, which is
+ * harmless for the hashed keys this set is meant for.
+ */
+public class ConcurrentLongHashSet implements LongSet {
+
+    private static final long EMPTY = 0L;
+    private static final float LOAD_FACTOR = 0.5f;
+
+    private final Segment[] segments;
+    private final int segmentMask;
+
+    public ConcurrentLongHashSet(int expectedSize, int concurrencyLevel) {
+        int segmentCount = Integer.highestOneBit(Math.max(1, concurrencyLevel - 1) << 1);
+        int perSegment = Math.max(16, (int) (expectedSize / segmentCount / LOAD_FACTOR));
+        this.segments = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment(Integer.highestOneBit(perSegment - 1) << 1);
+        }
+        this.segmentMask = segmentCount - 1;
+    }
+
+    /**
+     * Add a value
+     * @return true if the value was not present before
+     */
+    @Override
+    public boolean add(long value) {
+        long key = value == EMPTY ? 1L : value;
+        return segmentFor(key).add(key);
+    }
+
+    @Override
+    public boolean contains(long value) {
+        long key = value == EMPTY ? 1L : value;
+        return segmentFor(key).contains(key);
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    private Segment segmentFor(long key) {
+        return segments[(int) (key >>> 32) & segmentMask];
+    }
+
+    private static final class Segment {
+
+        private long[] table;
+        private int size;
+
+        Segment(int capacity) {
+            this.table = new long[capacity];
+        }
+
+        synchronized boolean add(long key) {
+            if (indexOf(table, key) >= 0) {
+                return false;
+            }
+            if (size + 1 > table.length * LOAD_FACTOR) {
+                resize();
+            }
+            insert(table, key);
+            size++;
+            return true;
+        }
+
+        synchronized boolean contains(long key) {
+            return indexOf(table, key) >= 0;
+        }
+
+        synchronized int size() {
+            return size;
+        }
+
+        private void resize() {
+            long[] resized = new long[table.length << 1];
+            for (long key : table) {
+                if (key != EMPTY) {
+                    insert(resized, key);
+                }
+            }
+            table = resized;
+        }
+
+        private static int indexOf(long[] table, long key) {
+            int mask = table.length - 1;
+            int index = (int) key & mask;
+            while (table[index] != EMPTY) {
+                if (table[index] == key) {
+                    return index;
+                }
+                index = (index + 1) & mask;
+            }
+            return -1;
+        }
+
+        private static void insert(long[] table, long key) {
+            int mask = table.length - 1;
+            int index = (int) key & mask;
+            while (table[index] != EMPTY) {
+                index = (index + 1) & mask;
+            }
+            table[index] = key;
+        }
+    }
+}
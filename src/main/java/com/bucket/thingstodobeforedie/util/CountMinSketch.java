@@ -0,0 +1,67 @@
+package com.bucket.thingstodobeforedie.util;
+
+/**
+ * Count-Min sketch over 64-bit keys using conservative update.
+ * Estimates never undercount; they overcount by at most {@code e / width} of the total
+ * added with probability {@code 1 - e^-depth}. Not thread-safe; callers synchronize.
+ */
+public class CountMinSketch {
+
+    private final long[] counts;
+    private final int depth;
+    private final int width;
+
+    public CountMinSketch(int depth, int width) {
+        if (depth < 1 || width < 1 || (long) depth * width > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Invalid sketch dimensions: " + depth + " x " + width);
+        }
+        this.depth = depth;
+        this.width = width;
+        this.counts = new long[depth * width];
+    }
+
+    /**
+     * Add to the count of a key
+     * @return the new estimated count of the key
+     */
+    public long add(long key, long count) {
+        long hash = HashUtil.mix64(key);
+        long estimate = estimateHashed(hash);
+        long updated = estimate + count;
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int row = 0; row < depth; row++) {
+            int index = row * width + Math.floorMod(h1 + row * h2, width);
+            if (counts[index] < updated) {
+                counts[index] = updated;
+            }
+        }
+        return updated;
+    }
+
+    /**
+     * Estimated count of a key
+     */
+    public long estimate(long key) {
+        return estimateHashed(HashUtil.mix64(key));
+    }
+
+    /**
+     * Halve every counter, so older events weigh half as much as newer ones
+     */
+    public void halve() {
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] >>>= 1;
+        }
+    }
+
+    private long estimateHashed(long hash) {
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        long min = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            min = Math.min(min, counts[row * width + Math.floorMod(h1 + row * h2, width)]);
+        }
+        return min;
+    }
+}
@@ -0,0 +1,512 @@
+package com.bucket.thingstodobeforedie.util;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongPredicate;
+
+/**
+ * In-memory full-text index ranking documents with BM25.
+ * <p>
+ * Each indexed document occupies a slot, and each term maps to a posting list of
+ * (slot, term frequency) pairs stored as delta-encoded varints in a byte array.
+ * A document always gets a new slot above all others, so adding or replacing it only
+ * appends to the posting lists of its terms. Removing or replacing a document just
+ * frees its old slot; posting entries of free slots are skipped by searches and dropped
+ * once free slots outnumber the documents, by rewriting all lists in one pass.
+ * The index can be written to a snapshot file and read back through a memory-mapped
+ * buffer.
+ */
+public class InvertedIndex {
+
+    private static final int SNAPSHOT_MAGIC = 0x49495831;
+    private static final int SNAPSHOT_VERSION = 2;
+
+    // BM25 parameters
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private static final int MIN_TERM_LENGTH = 2;
+
+    // Free slots tolerated before compacting, whatever the number of documents
+    private static final int MIN_FREE_SLOTS = 1024;
+
+    private final Map<String, Postings> postings = new HashMap<>();
+    private final Map<Long, Integer> slotsById = new HashMap<>();
+    private Document[] slots = new Document[16];
+    private int nextSlot;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private long totalLength;
+
+    /**
+     * Add a document or replace it if it is already indexed
+     *
+     * @param id document id
+     * @param ownerId id of the owner, available to search filters
+     * @param title title returned with search hits
+     * @param fields text to index
+     */
+    public void put(long id, long ownerId, String title, String... fields) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        int length = 0;
+        for (String field : fields) {
+            for (String term : tokenize(field)) {
+                frequencies.merge(term, 1, Integer::sum);
+                length++;
+            }
+        }
+
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+            int slot = nextSlot++;
+            if (slot == slots.length) {
+                slots = Arrays.copyOf(slots, slots.length * 2);
+            }
+            String[] terms = new String[frequencies.size()];
+            int i = 0;
+            for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+                postings.computeIfAbsent(entry.getKey(), term -> new Postings()).add(slot, entry.getValue());
+                terms[i++] = entry.getKey();
+            }
+            slots[slot] = new Document(id, ownerId, length, title, terms);
+            slotsById.put(id, slot);
+            totalLength += length;
+            compactIfSparse();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove a document if it is indexed
+     */
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+            compactIfSparse();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove every document whose id is not accepted. The ids are checked under the read
+     * lock and the documents removed one at a time, so searches and updates are not held
+     * up for the whole pass.
+     *
+     * @return number of documents removed
+     */
+    public int retainIf(LongPredicate keep) {
+        List<Long> removed = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (Long id : slotsById.keySet()) {
+                if (!keep.test(id)) {
+                    removed.add(id);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        removed.forEach(this::remove);
+        return removed.size();
+    }
+
+    /**
+     * Find the best matching documents for a free-text query
+     *
+     * @param query free text, any word may match
+     * @param limit maximum number of hits
+     * @param ownerFilter accepts the owner ids whose documents may be returned
+     * @return hits ordered by descending BM25 score
+     */
+    public List<Hit> search(String query, int limit, LongPredicate ownerFilter) {
+        Set<String> terms = new LinkedHashSet<>(tokenize(query));
+        if (terms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            int documentCount = slotsById.size();
+            if (documentCount == 0) {
+                return List.of();
+            }
+            double averageLength = Math.max(1.0, (double) totalLength / documentCount);
+
+            Map<Integer, Double> scores = new HashMap<>();
+            for (String term : terms) {
+                Postings list = postings.get(term);
+                if (list == null) {
+                    continue;
+                }
+                double idf = Math.log(1 + (documentCount - list.live + 0.5) / (list.live + 0.5));
+                list.forEach((slot, frequency) -> {
+                    Document document = slots[slot];
+                    if (document == null || !ownerFilter.test(document.ownerId)) {
+                        return;
+                    }
+                    double norm = K1 * (1 - B + B * document.length / averageLength);
+                    scores.merge(slot, idf * frequency * (K1 + 1) / (frequency + norm), Double::sum);
+                });
+            }
+
+            PriorityQueue<Hit> top = new PriorityQueue<>(Comparator.comparingDouble(Hit::score));
+            for (Map.Entry<Integer, Double> entry : scores.entrySet()) {
+                if (top.size() < limit || entry.getValue() > top.peek().score()) {
+                    if (top.size() == limit) {
+                        top.poll();
+                    }
+                    Document document = slots[entry.getKey()];
+                    top.add(new Hit(document.id, document.title, entry.getValue()));
+                }
+            }
+
+            List<Hit> hits = new ArrayList<>(top);
+            hits.sort(Comparator.comparingDouble(Hit::score).reversed());
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Number of indexed documents
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return slotsById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Write the index to a file, replacing it atomically. The postings are copied under
+     * the read lock and written after it is released, so the file I/O does not block
+     * updates.
+     */
+    public void writeSnapshot(Path file, long savedAt) throws IOException {
+        String[] terms;
+        Postings[] lists;
+        Document[] documents;
+        lock.readLock().lock();
+        try {
+            terms = new String[postings.size()];
+            lists = new Postings[postings.size()];
+            int i = 0;
+            for (Map.Entry<String, Postings> entry : postings.entrySet()) {
+                terms[i] = entry.getKey();
+                lists[i++] = entry.getValue().copy();
+            }
+            // Documents are immutable, only the slot array needs copying
+            documents = Arrays.copyOf(slots, nextSlot);
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeInt(SNAPSHOT_VERSION);
+            out.writeLong(savedAt);
+            out.writeInt(documents.length);
+
+            Map<String, Integer> ordinals = new HashMap<>(terms.length * 2);
+            out.writeInt(terms.length);
+            for (int i = 0; i < terms.length; i++) {
+                ordinals.put(terms[i], i);
+                writeString(out, terms[i]);
+                Postings list = lists[i];
+                out.writeInt(list.count);
+                out.writeInt(list.live);
+                out.writeInt(list.lastSlot);
+                out.writeInt(list.size);
+                out.write(list.data, 0, list.size);
+            }
+
+            int documentCount = 0;
+            for (Document document : documents) {
+                if (document != null) {
+                    documentCount++;
+                }
+            }
+            out.writeInt(documentCount);
+            for (int slot = 0; slot < documents.length; slot++) {
+                Document document = documents[slot];
+                if (document == null) {
+                    continue;
+                }
+                out.writeInt(slot);
+                out.writeLong(document.id);
+                out.writeLong(document.ownerId);
+                out.writeInt(document.length);
+                writeString(out, document.title);
+                out.writeInt(document.terms.length);
+                for (String term : document.terms) {
+                    out.writeInt(ordinals.get(term));
+                }
+            }
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Read an index written by {@link #writeSnapshot(Path, long)}
+     *
+     * @return the index and the time it was saved
+     * @throws IOException if the file cannot be read or is not a snapshot of this version
+     */
+    public static Snapshot readSnapshot(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != SNAPSHOT_MAGIC || buffer.getInt() != SNAPSHOT_VERSION) {
+                throw new IOException("Not a search index snapshot: " + file);
+            }
+            long savedAt = buffer.getLong();
+
+            InvertedIndex index = new InvertedIndex();
+            index.nextSlot = buffer.getInt();
+            index.slots = new Document[Math.max(16, index.nextSlot)];
+
+            String[] terms = new String[buffer.getInt()];
+            for (int i = 0; i < terms.length; i++) {
+                terms[i] = readString(buffer);
+                Postings list = new Postings();
+                list.count = buffer.getInt();
+                list.live = buffer.getInt();
+                list.lastSlot = buffer.getInt();
+                list.size = buffer.getInt();
+                list.data = new byte[Math.max(16, list.size)];
+                buffer.get(list.data, 0, list.size);
+                index.postings.put(terms[i], list);
+            }
+
+            int documentCount = buffer.getInt();
+            for (int i = 0; i < documentCount; i++) {
+                int slot = buffer.getInt();
+                long id = buffer.getLong();
+                long ownerId = buffer.getLong();
+                int length = buffer.getInt();
+                String title = readString(buffer);
+                String[] documentTerms = new String[buffer.getInt()];
+                for (int t = 0; t < documentTerms.length; t++) {
+                    documentTerms[t] = terms[buffer.getInt()];
+                }
+                index.slots[slot] = new Document(id, ownerId, length, title, documentTerms);
+                index.slotsById.put(id, slot);
+                index.totalLength += length;
+            }
+            return new Snapshot(index, savedAt);
+        } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+            throw new IOException("Truncated search index snapshot: " + file, e);
+        }
+    }
+
+    /**
+     * Split text into lowercase terms of letters and digits
+     */
+    public static List<String> tokenize(String text) {
+        if (text == null || text.isEmpty()) {
+            return List.of();
+        }
+        List<String> terms = new ArrayList<>();
+        for (String term : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (term.length() >= MIN_TERM_LENGTH) {
+                terms.add(term);
+            }
+        }
+        return terms;
+    }
+
+    /**
+     * Free the slot of a document; its posting entries stay until the next compaction
+     */
+    private void removeLocked(long id) {
+        Integer slot = slotsById.remove(id);
+        if (slot == null) {
+            return;
+        }
+        Document document = slots[slot];
+        slots[slot] = null;
+        totalLength -= document.length;
+        for (String term : document.terms) {
+            Postings list = postings.get(term);
+            if (list != null && --list.live == 0) {
+                postings.remove(term);
+            }
+        }
+    }
+
+    /**
+     * Renumber the documents into consecutive slots and drop the posting entries of free
+     * slots, once there are more free slots than documents. Each compaction is paid for
+     * by the replacements and removals that freed the slots.
+     */
+    private void compactIfSparse() {
+        int free = nextSlot - slotsById.size();
+        if (free < MIN_FREE_SLOTS || free < slotsById.size()) {
+            return;
+        }
+
+        int[] renumbered = new int[nextSlot];
+        Document[] compacted = new Document[Math.max(16, slotsById.size() * 2)];
+        int next = 0;
+        for (int slot = 0; slot < nextSlot; slot++) {
+            Document document = slots[slot];
+            if (document == null) {
+                renumbered[slot] = -1;
+                continue;
+            }
+            renumbered[slot] = next;
+            compacted[next] = document;
+            slotsById.put(document.id, next);
+            next++;
+        }
+        for (Postings list : postings.values()) {
+            list.renumber(renumbered);
+        }
+        slots = compacted;
+        nextSlot = next;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = (value != null ? value : "").getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Document matched by a search
+     */
+    public record Hit(long id, String title, double score) {
+    }
+
+    /**
+     * Index read from a snapshot file
+     */
+    public record Snapshot(InvertedIndex index, long savedAt) {
+    }
+
+    private record Document(long id, long ownerId, int length, String title, String[] terms) {
+    }
+
+    @FunctionalInterface
+    private interface PostingConsumer {
+        void accept(int slot, int frequency);
+    }
+
+    /**
+     * Delta-encoded varint posting list sorted by slot
+     */
+    private static final class Postings {
+
+        private byte[] data = new byte[16];
+        private int size;
+        // Entries in the list, and those whose slot still holds a document
+        private int count;
+        private int live;
+        private int lastSlot;
+
+        /**
+         * Append an entry; slots are handed out in increasing order, so it always goes last
+         */
+        void add(int slot, int frequency) {
+            ensureCapacity(10);
+            size = writeVarInt(data, size, count == 0 ? slot : slot - lastSlot);
+            size = writeVarInt(data, size, frequency);
+            lastSlot = slot;
+            count++;
+            live++;
+        }
+
+        void forEach(PostingConsumer consumer) {
+            int position = 0;
+            int slot = 0;
+            for (int i = 0; i < count; i++) {
+                int delta = 0;
+                int shift = 0;
+                byte b;
+                do {
+                    b = data[position++];
+                    delta |= (b & 0x7F) << shift;
+                    shift += 7;
+                } while (b < 0);
+                slot += delta;
+
+                int frequency = 0;
+                shift = 0;
+                do {
+                    b = data[position++];
+                    frequency |= (b & 0x7F) << shift;
+                    shift += 7;
+                } while (b < 0);
+                consumer.accept(slot, frequency);
+            }
+        }
+
+        /**
+         * Rewrite the list with new slot numbers, dropping entries mapped to -1
+         */
+        void renumber(int[] renumbered) {
+            Postings rewritten = new Postings();
+            rewritten.data = new byte[Math.max(16, size)];
+            forEach((slot, frequency) -> {
+                if (renumbered[slot] >= 0) {
+                    rewritten.add(renumbered[slot], frequency);
+                }
+            });
+            data = rewritten.data;
+            size = rewritten.size;
+            count = rewritten.count;
+            live = rewritten.live;
+            lastSlot = rewritten.lastSlot;
+        }
+
+        Postings copy() {
+            Postings copy = new Postings();
+            copy.data = Arrays.copyOf(data, size);
+            copy.size = size;
+            copy.count = count;
+            copy.live = live;
+            copy.lastSlot = lastSlot;
+            return copy;
+        }
+
+        private void ensureCapacity(int extra) {
+            if (size + extra > data.length) {
+                data = Arrays.copyOf(data, Math.max(data.length * 2, size + extra));
+            }
+        }
+
+        private static int writeVarInt(byte[] target, int position, int value) {
+            while ((value & ~0x7F) != 0) {
+                target[position++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            target[position++] = (byte) value;
+            return position;
+        }
+    }
+}
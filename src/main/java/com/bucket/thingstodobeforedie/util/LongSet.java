@@ -0,0 +1,18 @@
+package com.bucket.thingstodobeforedie.util;
+
+/**
+ * Minimal set of primitive {@code long} values, either exact or probabilistic
+ */
+public interface LongSet {
+
+    /**
+     * Add a value
+     * @return true if the value was (probably) not present before
+     */
+    boolean add(long value);
+
+    /**
+     * @return true if the value is (probably) present
+     */
+    boolean contains(long value);
+}
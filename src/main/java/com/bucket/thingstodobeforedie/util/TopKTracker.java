@@ -0,0 +1,98 @@
+package com.bucket.thingstodobeforedie.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Tracks the k heaviest keys of a weighted event stream in bounded memory.
+ * Counts are estimated with a {@link CountMinSketch}; a min-heap keeps the current top k,
+ * so adding an event costs O(depth + k) and reading the leaderboard never scans all keys.
+ * Counts only grow, except through {@link #halve()} which ages all of them at once.
+ */
+public class TopKTracker {
+
+    private final int capacity;
+    private final CountMinSketch sketch;
+    private final PriorityQueue<Entry> heap = new PriorityQueue<>(
+            Comparator.comparingLong(Entry::count).thenComparing(Entry::key, Comparator.reverseOrder()));
+    private final Map<Long, Entry> entries = new HashMap<>();
+
+    public TopKTracker(int capacity, int sketchDepth, int sketchWidth) {
+        this.capacity = capacity;
+        this.sketch = new CountMinSketch(sketchDepth, sketchWidth);
+    }
+
+    /**
+     * Add weight to a key, promoting it into the top k if its estimate is high enough
+     */
+    public synchronized void add(long key, long weight) {
+        if (weight <= 0) {
+            return;
+        }
+        long estimate = sketch.add(key, weight);
+
+        Entry current = entries.get(key);
+        if (current != null) {
+            heap.remove(current);
+        } else if (entries.size() >= capacity) {
+            if (heap.peek().count() >= estimate) {
+                return;
+            }
+            entries.remove(heap.poll().key());
+        }
+        Entry entry = new Entry(key, estimate);
+        heap.add(entry);
+        entries.put(key, entry);
+    }
+
+    /**
+     * Stop reporting a key until it is added again
+     */
+    public synchronized void remove(long key) {
+        Entry entry = entries.remove(key);
+        if (entry != null) {
+            heap.remove(entry);
+        }
+    }
+
+    /**
+     * The heaviest keys, highest count first
+     */
+    public synchronized List<Long> top(int limit) {
+        List<Entry> sorted = new ArrayList<>(heap);
+        sorted.sort(heap.comparator().reversed());
+        List<Long> keys = new ArrayList<>(Math.min(limit, sorted.size()));
+        for (int i = 0; i < sorted.size() && i < limit; i++) {
+            keys.add(sorted.get(i).key());
+        }
+        return keys;
+    }
+
+    /**
+     * Halve all counts, so recent events outweigh older ones
+     */
+    public synchronized void halve() {
+        sketch.halve();
+        List<Entry> aged = new ArrayList<>(heap.size());
+        for (Entry entry : heap) {
+            aged.add(new Entry(entry.key(), entry.count() >>> 1));
+        }
+        heap.clear();
+        entries.clear();
+        for (Entry entry : aged) {
+            heap.add(entry);
+            entries.put(entry.key(), entry);
+        }
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private record Entry(long key, long count) {
+    }
+}
@@ -0,0 +1,9 @@
+-- Add denormalized like and comment counters to blog_posts
+ALTER TABLE blog_posts
+ADD COLUMN IF NOT EXISTS likes_count BIGINT DEFAULT 0 NOT NULL,
+ADD COLUMN IF NOT EXISTS comments_count BIGINT DEFAULT 0 NOT NULL;
+
+-- Backfill counters from existing rows
+UPDATE blog_posts b SET
+    likes_count = (SELECT COUNT(*) FROM likes l WHERE l.blog_post_id = b.id),
+    comments_count = (SELECT COUNT(*) FROM comments c WHERE c.blog_post_id = b.id);
@@ -0,0 +1,8 @@
+-- Shared blog view de-duplication, one unlogged partition per day
+-- (daily partitions are created and dropped by PostgresViewDedupStore)
+CREATE TABLE IF NOT EXISTS blog_view_dedup (
+    blog_id BIGINT NOT NULL,
+    viewer_hash BIGINT NOT NULL,
+    view_day DATE NOT NULL,
+    PRIMARY KEY (blog_id, viewer_hash, view_day)
+) PARTITION BY RANGE (view_day);
@@ -0,0 +1,3 @@
+-- Supports keyset pagination of a user's activity feed
+CREATE INDEX IF NOT EXISTS idx_user_activities_feed
+    ON user_activities (user_id, created_at DESC, id DESC);
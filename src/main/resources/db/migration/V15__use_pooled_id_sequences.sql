@@ -0,0 +1,26 @@
+-- Ids are allocated from sequences in blocks of 50 (Hibernate pooled optimizer).
+-- Each sequence starts one block past the current maximum id, so the first block
+-- handed out never overlaps existing rows. Run before deploying the entity change.
+CREATE SEQUENCE IF NOT EXISTS user_seq INCREMENT BY 50;
+SELECT setval('user_seq', COALESCE((SELECT MAX(id) FROM users), 0) + 50, false);
+
+CREATE SEQUENCE IF NOT EXISTS blog_post_seq INCREMENT BY 50;
+SELECT setval('blog_post_seq', COALESCE((SELECT MAX(id) FROM blog_posts), 0) + 50, false);
+
+CREATE SEQUENCE IF NOT EXISTS category_seq INCREMENT BY 50;
+SELECT setval('category_seq', COALESCE((SELECT MAX(id) FROM categories), 0) + 50, false);
+
+CREATE SEQUENCE IF NOT EXISTS comment_seq INCREMENT BY 50;
+SELECT setval('comment_seq', COALESCE((SELECT MAX(id) FROM comments), 0) + 50, false);
+
+CREATE SEQUENCE IF NOT EXISTS like_seq INCREMENT BY 50;
+SELECT setval('like_seq', COALESCE((SELECT MAX(id) FROM likes), 0) + 50, false);
+
+CREATE SEQUENCE IF NOT EXISTS bucket_list_seq INCREMENT BY 50;
+SELECT setval('bucket_list_seq', COALESCE((SELECT MAX(id) FROM bucket_lists), 0) + 50, false);
+
+CREATE SEQUENCE IF NOT EXISTS bucket_list_item_seq INCREMENT BY 50;
+SELECT setval('bucket_list_item_seq', COALESCE((SELECT MAX(id) FROM bucket_list_items), 0) + 50, false);
+
+CREATE SEQUENCE IF NOT EXISTS password_reset_token_seq INCREMENT BY 50;
+SELECT setval('password_reset_token_seq', COALESCE((SELECT MAX(id) FROM password_reset_tokens), 0) + 50, false);
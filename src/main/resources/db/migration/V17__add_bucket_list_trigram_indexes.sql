@@ -0,0 +1,10 @@
+-- Trigram indexes for typo-tolerant bucket list and item search
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_bucket_lists_user_id ON bucket_lists (user_id);
+CREATE INDEX IF NOT EXISTS idx_bucket_lists_name_trgm ON bucket_lists USING GIN (name gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_bucket_lists_description_trgm ON bucket_lists USING GIN (description gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_bucket_list_items_bucket_list_id ON bucket_list_items (bucket_list_id);
+CREATE INDEX IF NOT EXISTS idx_bucket_list_items_name_trgm ON bucket_list_items USING GIN (name gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_bucket_list_items_description_trgm ON bucket_list_items USING GIN (description gin_trgm_ops);
@@ -0,0 +1,7 @@
+-- Time-decayed trending score, recomputed periodically by BlogTrendingScoreUpdater
+ALTER TABLE blog_posts
+ADD COLUMN IF NOT EXISTS trending_score DOUBLE PRECISION DEFAULT 0 NOT NULL;
+
+-- Serves /trending and /trending/top as an index range scan
+CREATE INDEX IF NOT EXISTS idx_blog_posts_trending
+    ON blog_posts (status, trending_score DESC, id DESC);
@@ -0,0 +1,18 @@
+-- Per-user rollup of bucket list and blog post counts, maintained by the write paths
+CREATE TABLE IF NOT EXISTS user_stats (
+    user_id BIGINT PRIMARY KEY REFERENCES users (id) ON DELETE CASCADE,
+    bucket_lists BIGINT NOT NULL DEFAULT 0,
+    completed_bucket_lists BIGINT NOT NULL DEFAULT 0,
+    active_bucket_lists BIGINT NOT NULL DEFAULT 0,
+    blog_posts BIGINT NOT NULL DEFAULT 0
+);
+
+-- Backfill from existing rows
+INSERT INTO user_stats (user_id, bucket_lists, completed_bucket_lists, active_bucket_lists, blog_posts)
+SELECT u.id,
+       (SELECT COUNT(*) FROM bucket_lists b WHERE b.user_id = u.id),
+       (SELECT COUNT(*) FROM bucket_lists b WHERE b.user_id = u.id AND b.status = 'COMPLETED'),
+       (SELECT COUNT(*) FROM bucket_lists b WHERE b.user_id = u.id AND b.status = 'ACTIVE'),
+       (SELECT COUNT(*) FROM blog_posts p WHERE p.user_id = u.id)
+FROM users u
+ON CONFLICT (user_id) DO NOTHING;
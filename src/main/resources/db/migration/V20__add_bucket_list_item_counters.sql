@@ -0,0 +1,9 @@
+-- Add denormalized item counters to bucket_lists
+ALTER TABLE bucket_lists
+ADD COLUMN IF NOT EXISTS total_items INTEGER DEFAULT 0 NOT NULL,
+ADD COLUMN IF NOT EXISTS completed_items INTEGER DEFAULT 0 NOT NULL;
+
+-- Backfill counters from existing rows
+UPDATE bucket_lists b SET
+    total_items = (SELECT COUNT(*) FROM bucket_list_items i WHERE i.bucket_list_id = b.id),
+    completed_items = (SELECT COUNT(*) FROM bucket_list_items i WHERE i.bucket_list_id = b.id AND i.completed);
@@ -0,0 +1,6 @@
+-- User-defined order of items within a bucket list; items without a position come last
+ALTER TABLE bucket_list_items
+ADD COLUMN IF NOT EXISTS position INTEGER;
+
+CREATE INDEX IF NOT EXISTS idx_bucket_list_items_position
+    ON bucket_list_items (bucket_list_id, position);
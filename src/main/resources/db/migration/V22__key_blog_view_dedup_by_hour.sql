@@ -0,0 +1,12 @@
+-- Key shared view de-duplication by hour, so a viewer is counted once per rolling
+-- 24 hours instead of once per calendar day. The table only holds recent views,
+-- so it is recreated rather than converted.
+-- (daily partitions are created and dropped by PostgresViewDedupStore)
+DROP TABLE IF EXISTS blog_view_dedup;
+
+CREATE TABLE blog_view_dedup (
+    blog_id BIGINT NOT NULL,
+    viewer_hash BIGINT NOT NULL,
+    view_hour TIMESTAMP NOT NULL,
+    PRIMARY KEY (blog_id, viewer_hash, view_hour)
+) PARTITION BY RANGE (view_hour);
@@ -0,0 +1,3 @@
+-- The search index catch-up reads the rows updated since its previous run every minute
+CREATE INDEX IF NOT EXISTS idx_blog_posts_updated_at ON blog_posts (updated_at);
+CREATE INDEX IF NOT EXISTS idx_bucket_lists_updated_at ON bucket_lists (updated_at);
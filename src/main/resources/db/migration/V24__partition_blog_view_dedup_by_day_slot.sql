@@ -0,0 +1,18 @@
+-- Partition the shared view de-duplication table into a fixed ring of three daily slots,
+-- so no partition is ever created or dropped at runtime. Day d goes to slot
+-- (d - 2000-01-01) % 3: today and yesterday cover the 24 hour look-back, and the third
+-- slot, tomorrow's, is emptied by PostgresViewDedupStore before tomorrow starts.
+-- The table only holds recent views, so it is recreated rather than converted.
+DROP TABLE IF EXISTS blog_view_dedup;
+
+CREATE TABLE blog_view_dedup (
+    blog_id BIGINT NOT NULL,
+    viewer_hash BIGINT NOT NULL,
+    view_hour TIMESTAMP NOT NULL,
+    day_slot SMALLINT NOT NULL,
+    PRIMARY KEY (blog_id, viewer_hash, view_hour, day_slot)
+) PARTITION BY LIST (day_slot);
+
+CREATE UNLOGGED TABLE blog_view_dedup_0 PARTITION OF blog_view_dedup FOR VALUES IN (0);
+CREATE UNLOGGED TABLE blog_view_dedup_1 PARTITION OF blog_view_dedup FOR VALUES IN (1);
+CREATE UNLOGGED TABLE blog_view_dedup_2 PARTITION OF blog_view_dedup FOR VALUES IN (2);
@@ -0,0 +1,140 @@
+package com.bucket.thingstodobeforedie.security;
+
+import com.bucket.thingstodobeforedie.dto.BlogPostResponse;
+import com.bucket.thingstodobeforedie.entity.BlogPost;
+import com.bucket.thingstodobeforedie.entity.Category;
+import com.bucket.thingstodobeforedie.entity.User;
+import com.bucket.thingstodobeforedie.repository.CategoryRepository;
+import com.bucket.thingstodobeforedie.repository.LikeRepository;
+import com.bucket.thingstodobeforedie.repository.UserRepository;
+import com.bucket.thingstodobeforedie.service.BlogPostResponseAssembler;
+import com.bucket.thingstodobeforedie.service.BlogViewCountBuffer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CurrentUserTest {
+
+    private static final String EMAIL = "reader@example.com";
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CurrentUser currentUser = new CurrentUser(userRepository, meterRegistry, 60_000, 100);
+
+    private final User user = User.builder().id(1L).email(EMAIL).username("reader").build();
+
+    @BeforeEach
+    void setUp() {
+        when(userRepository.findByUsername(EMAIL)).thenReturn(Optional.of(user));
+        when(userRepository.getReferenceById(1L)).thenReturn(user);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(EMAIL, null, List.of()));
+        startRequest();
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void pageOfTwentyPostsResolvesCurrentUserOnce() {
+        LikeRepository likeRepository = mock(LikeRepository.class);
+        CategoryRepository categoryRepository = mock(CategoryRepository.class);
+        BlogPostResponseAssembler assembler = new BlogPostResponseAssembler(likeRepository, userRepository,
+                categoryRepository, currentUser, mock(BlogViewCountBuffer.class));
+
+        User author = User.builder().id(2L).email("author@example.com").fullName("Author").build();
+        Category category = Category.builder().id(3L).name("Travel").build();
+        List<BlogPost> posts = new ArrayList<>();
+        for (long id = 1; id <= 20; id++) {
+            posts.add(BlogPost.builder().id(id).title("Post " + id).user(author).category(category).build());
+        }
+        when(likeRepository.findLikedBlogPostIds(user, Set.copyOf(posts.stream().map(BlogPost::getId).toList())))
+                .thenReturn(List.of(4L));
+        when(userRepository.findAllById(anyIterable())).thenReturn(List.of(author));
+        when(categoryRepository.findAllById(anyIterable())).thenReturn(List.of(category));
+
+        // Mapping each post on its own, as single-post endpoints do, still shares one lookup
+        posts.forEach(assembler::toResponse);
+        Page<BlogPostResponse> page = assembler.toResponsePage(new PageImpl<>(posts));
+
+        assertEquals(20, page.getNumberOfElements());
+        assertEquals(List.of(4L), page.stream().filter(BlogPostResponse::isLikedByCurrentUser)
+                .map(BlogPostResponse::id).toList());
+        verify(userRepository, times(1)).findByUsername(EMAIL);
+        assertEquals(1, meterRegistry.counter("current.user.cache", "result", "miss").count());
+        assertEquals(20, meterRegistry.counter("current.user.cache", "result", "hit").count());
+    }
+
+    @Test
+    void sharesAReferenceRatherThanACachedEntity() {
+        assertSame(user, currentUser.getUser());
+        startRequest();
+        assertEquals(1L, currentUser.getUserId());
+
+        verify(userRepository, times(2)).getReferenceById(1L);
+        verify(userRepository, times(1)).findByUsername(EMAIL);
+    }
+
+    @Test
+    void laterRequestsAreServedFromCacheUntilEvicted() {
+        currentUser.getUser();
+        startRequest();
+        currentUser.getUser();
+        verify(userRepository, times(1)).findByUsername(EMAIL);
+
+        currentUser.evict(EMAIL);
+        currentUser.getUser();
+        verify(userRepository, times(2)).findByUsername(EMAIL);
+    }
+
+    @Test
+    void evictionWaitsForTheTransactionToCommit() {
+        currentUser.getUser();
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            currentUser.evict(EMAIL);
+            startRequest();
+            currentUser.getUser();
+            verify(userRepository, times(1)).findByUsername(EMAIL);
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        startRequest();
+        currentUser.getUser();
+        verify(userRepository, times(2)).findByUsername(EMAIL);
+    }
+
+    private static void startRequest() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+    }
+}
@@ -0,0 +1,63 @@
+package com.bucket.thingstodobeforedie.service;
+
+import com.bucket.thingstodobeforedie.dto.BucketListItemRequest;
+import com.bucket.thingstodobeforedie.entity.BucketListItem;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class BucketListItemDiffTest {
+
+    private static final int ITEMS = 1_000;
+
+    @Test
+    void thousandItemListIsDiffedByIdThenName() {
+        List<BucketListItem> existing = new ArrayList<>();
+        for (long id = 1; id <= ITEMS; id++) {
+            existing.add(BucketListItem.builder().id(id).name("item-" + id).build());
+        }
+
+        List<BucketListItemRequest> requested = new ArrayList<>();
+        // Renamed items matched by id
+        for (long id = 1; id <= 400; id++) {
+            requested.add(request(id, "renamed-" + id));
+        }
+        // Items without an id matched by name
+        for (long id = 401; id <= 700; id++) {
+            requested.add(request(null, "item-" + id));
+        }
+        // New items, including one reusing the old name of an item already matched by id
+        for (int i = 0; i < 200; i++) {
+            requested.add(request(null, "new-" + i));
+        }
+        requested.add(request(null, "item-1"));
+
+        BucketListItemDiff diff = BucketListItemDiff.compute(existing, requested);
+
+        assertEquals(700, diff.updates().size());
+        assertEquals(201, diff.inserts().size());
+        assertEquals(300, diff.deletes().size());
+        assertSame(existing.get(0), diff.updates().get(0).item());
+        assertEquals("renamed-1", diff.updates().get(0).request().name());
+        assertSame(existing.get(700), diff.deletes().get(0));
+    }
+
+    @Test
+    void unknownIdFallsBackToName() {
+        List<BucketListItem> existing = List.of(BucketListItem.builder().id(7L).name("Skydiving").build());
+
+        BucketListItemDiff diff = BucketListItemDiff.compute(existing, List.of(request(99L, "Skydiving")));
+
+        assertEquals(1, diff.updates().size());
+        assertEquals(0, diff.inserts().size());
+        assertEquals(0, diff.deletes().size());
+    }
+
+    private static BucketListItemRequest request(Long id, String name) {
+        return new BucketListItemRequest(id, name, null, false, null, null, null);
+    }
+}
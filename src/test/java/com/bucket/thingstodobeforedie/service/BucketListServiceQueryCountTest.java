@@ -0,0 +1,111 @@
+package com.bucket.thingstodobeforedie.service;
+
+import com.bucket.thingstodobeforedie.dto.BucketListResponse;
+import com.bucket.thingstodobeforedie.dto.PagedResponse;
+import com.bucket.thingstodobeforedie.entity.BucketList;
+import com.bucket.thingstodobeforedie.entity.BucketListItem;
+import com.bucket.thingstodobeforedie.entity.Category;
+import com.bucket.thingstodobeforedie.entity.CategoryType;
+import com.bucket.thingstodobeforedie.entity.User;
+import com.bucket.thingstodobeforedie.repository.UserRepository;
+import com.bucket.thingstodobeforedie.security.CurrentUser;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+
+/**
+ * Pins the number of statements a bucket list page costs, so lazy loading per list
+ * cannot creep back in unnoticed
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+@Import(BucketListService.class)
+class BucketListServiceQueryCountTest {
+
+    private static final int LISTS = 12;
+    private static final int ITEMS_PER_LIST = 3;
+    private static final int PAGE_SIZE = 5;
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired
+    private BucketListService bucketListService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @MockBean
+    private CurrentUser currentUser;
+    @MockBean
+    private UserService userService;
+    @MockBean
+    private ActivityService activityService;
+    @MockBean
+    private LocalSearchService localSearchService;
+    @MockBean
+    private UserStatsService userStatsService;
+    @MockBean
+    private BucketListStatusService bucketListStatusService;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        User user = User.builder().username("planner").email("planner@example.com").password("secret").build();
+        entityManager.persist(user);
+        Category category = Category.builder().name("Travel").type(CategoryType.BUCKET_LIST).build();
+        entityManager.persist(category);
+
+        for (int list = 0; list < LISTS; list++) {
+            BucketList bucketList = BucketList.builder().name("list-" + list).user(user).category(category).build();
+            entityManager.persist(bucketList);
+            for (int item = 0; item < ITEMS_PER_LIST; item++) {
+                entityManager.persist(BucketListItem.builder()
+                        .name("item-" + list + "-" + item)
+                        .bucketList(bucketList)
+                        .position(item)
+                        .build());
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        long userId = user.getId();
+        when(currentUser.getUser()).thenAnswer(invocation -> userRepository.getReferenceById(userId));
+        when(currentUser.getUserId()).thenReturn(userId);
+
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void fullPageLoadsListsCountAndItemsInThreeStatements() {
+        PagedResponse<BucketListResponse> page = bucketListService.getBucketLists(0, PAGE_SIZE, false);
+
+        assertEquals(PAGE_SIZE, page.content().size());
+        assertEquals(LISTS, page.totalElements());
+        page.content().forEach(list -> assertEquals(ITEMS_PER_LIST, list.bucketItems().size()));
+        // Page of lists, total count, then items and categories of the whole page
+        assertEquals(3, statistics.getPrepareStatementCount());
+    }
+}